@@ -2,12 +2,15 @@ package worms;
 
 import worms.gui.GUIOptions;
 import worms.gui.WormsGUI;
-import worms.model.Facade;
+import worms.model.CachingFacade;
+import worms.model.WorldFacade;
+import worms.model.WormWorld;
 
 public class Worms {
 
 	public static void main(String[] args) {
-		new WormsGUI(new Facade(), parseOptions(args)).start();
+		new WormsGUI(new CachingFacade(new WorldFacade(new WormWorld())),
+				parseOptions(args)).start();
 	}
 
 	private static GUIOptions parseOptions(String[] args) {
@@ -17,6 +20,16 @@ public class Worms {
 			String arg = args[i];
 			if ("-window".equals(arg)) {
 				options.disableFullScreen = true;
+			} else if ("-exacttrig".equals(arg)) {
+				options.exactTrigonometry = true;
+			} else if ("-active".equals(arg)) {
+				options.activeRendering = true;
+			} else if ("-latency".equals(arg)) {
+				options.reportLatencies = true;
+			} else if ("-maxfps".equals(arg)) {
+				options.maximumFramerate = Integer.parseInt(args[++i]);
+			} else if ("-threads".equals(arg)) {
+				options.renderThreads = Integer.parseInt(args[++i]);
 			} else if ("-seed".equals(arg)) {
 				long randomSeed = Long.parseLong(args[++i]);
 				options.randomSeed = randomSeed;
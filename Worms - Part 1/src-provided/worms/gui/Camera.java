@@ -0,0 +1,77 @@
+package worms.gui;
+
+/**
+ * The part of the world that is shown on the screen: the point of the world
+ * (in worm-meter) at the center of the screen, and the zoom factor relative
+ * to GUIConstants.WORLD_SCALE.
+ */
+public class Camera {
+
+	public static final double MIN_ZOOM = 0.05;
+	public static final double MAX_ZOOM = 20;
+
+	private double x;
+	private double y;
+	private double zoom = 1.0;
+
+	private int version;
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getZoom() {
+		return zoom;
+	}
+
+	/**
+	 * Scale at which the world is drawn (in pixels per worm-meter)
+	 */
+	public double getPixelsPerMeter() {
+		return GUIUtils.meterToPixels(zoom);
+	}
+
+	/**
+	 * Incremented whenever the camera moves or zooms, so that anything
+	 * computed in screen coordinates can tell when it is out of date
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	public void setPosition(double x, double y) {
+		this.x = x;
+		this.y = y;
+		version++;
+	}
+
+	/**
+	 * @param dx
+	 *            (in worm-meter)
+	 * @param dy
+	 *            (in worm-meter)
+	 */
+	public void pan(double dx, double dy) {
+		setPosition(x + dx, y + dy);
+	}
+
+	public void setZoom(double zoom) {
+		this.zoom = Math.max(MIN_ZOOM, Math.min(zoom, MAX_ZOOM));
+		version++;
+	}
+
+	public void zoomBy(double factor) {
+		setZoom(zoom * factor);
+	}
+
+	public void reset() {
+		x = 0;
+		y = 0;
+		zoom = 1.0;
+		version++;
+	}
+}
@@ -0,0 +1,218 @@
+package worms.gui;
+
+/**
+ * Chooses the framerate of the game loop from the time that the frames
+ * actually take: the time to update the game (the tick) and the time to
+ * paint the screen.
+ *
+ * Every half second (of frames at the current framerate) the measurements are
+ * compared with the time available for a frame:
+ * <ul>
+ * <li>when a frame takes more than its budget, the framerate is lowered, or,
+ * when it is already at its minimum, painting is shed: the game is still
+ * updated on every tick, but only painted on one in every few ticks;</li>
+ * <li>when a frame takes well within its budget, shed painting is resumed
+ * first, and then the framerate is raised toward its maximum.</li>
+ * </ul>
+ *
+ * The decisions are taken on the event dispatch thread; only the frame
+ * period may be read from another thread.
+ */
+public class FrameRateGovernor {
+
+	/**
+	 * The decisions the governor can take
+	 */
+	public static enum Decision {
+		NONE, RAISED, LOWERED, SHED_PAINTS, RESUMED_PAINTS
+	}
+
+	/**
+	 * Fraction of the frame period that a frame may take
+	 */
+	private static final double BUDGET = 0.9;
+
+	/**
+	 * Fraction of the frame period below which a frame leaves enough headroom
+	 * to paint more often or to raise the framerate
+	 */
+	private static final double HEADROOM = 0.6;
+
+	/**
+	 * Factor by which the framerate is raised or lowered in a single decision
+	 */
+	private static final double STEP = 1.25;
+
+	/**
+	 * Largest number of ticks between two paints, so that the screen keeps
+	 * following the game however slow painting gets
+	 */
+	public static final int MAXIMUM_PAINT_INTERVAL = 8;
+
+	private final int minimumFramerate;
+	private final int maximumFramerate;
+
+	private volatile int framerate;
+	private int paintInterval = 1;
+	private int ticksSincePaint;
+
+	private int ticks;
+	private long tickNanos;
+	private int paints;
+	private long paintNanos;
+	private double averageTickNanos;
+	private double averagePaintNanos;
+
+	private Decision lastDecision = Decision.NONE;
+	private long skippedPaints;
+
+	/**
+	 * @param minimumFramerate
+	 *            Framerate to start at, and below which painting is shed
+	 *            instead, in frames per (real) second
+	 * @param maximumFramerate
+	 *            Framerate toward which to rise when there is headroom; when
+	 *            lower than the minimum, the framerate is fixed at this
+	 *            maximum
+	 */
+	public FrameRateGovernor(int minimumFramerate, int maximumFramerate) {
+		if (maximumFramerate < 1) {
+			throw new IllegalArgumentException("Not a valid framerate: "
+					+ maximumFramerate);
+		}
+		this.minimumFramerate = Math.max(1,
+				Math.min(minimumFramerate, maximumFramerate));
+		this.maximumFramerate = maximumFramerate;
+		this.framerate = this.minimumFramerate;
+	}
+
+	/**
+	 * Current number of frames per (real) second
+	 */
+	public int getFramerate() {
+		return framerate;
+	}
+
+	public int getMaximumFramerate() {
+		return maximumFramerate;
+	}
+
+	/**
+	 * Time between the start of two frames, in nanoseconds
+	 */
+	public long getFramePeriod() {
+		return 1000000000L / framerate;
+	}
+
+	/**
+	 * Number of ticks per paint; 1 when the game is painted on every tick
+	 */
+	public int getPaintInterval() {
+		return paintInterval;
+	}
+
+	/**
+	 * The last change the governor made, or NONE if it has not made any yet
+	 */
+	public Decision getLastDecision() {
+		return lastDecision;
+	}
+
+	/**
+	 * Number of paints that have been shed since the governor was created
+	 */
+	public long getSkippedPaints() {
+		return skippedPaints;
+	}
+
+	/**
+	 * Average time of a tick over the last half second, in nanoseconds
+	 */
+	public double getAverageTickNanos() {
+		return averageTickNanos;
+	}
+
+	/**
+	 * Average time of a paint over the last half second in which there were
+	 * paints, in nanoseconds
+	 */
+	public double getAveragePaintNanos() {
+		return averagePaintNanos;
+	}
+
+	/**
+	 * Whether the screen should be painted after the current tick; to be asked
+	 * once per tick
+	 */
+	public boolean shouldPaint() {
+		ticksSincePaint++;
+		if (ticksSincePaint >= paintInterval) {
+			ticksSincePaint = 0;
+			return true;
+		}
+		skippedPaints++;
+		return false;
+	}
+
+	/**
+	 * Record the time that updating the game took in a tick
+	 */
+	public void tickFinished(long nanos) {
+		ticks++;
+		tickNanos += nanos;
+		if (ticks >= Math.max(1, framerate / 2)) {
+			decide();
+		}
+	}
+
+	/**
+	 * Record the time that painting the screen took
+	 */
+	public void paintFinished(long nanos) {
+		paints++;
+		paintNanos += nanos;
+	}
+
+	private void decide() {
+		averageTickNanos = (double) tickNanos / ticks;
+		if (paints > 0) {
+			averagePaintNanos = (double) paintNanos / paints;
+		}
+		ticks = 0;
+		tickNanos = 0;
+		paints = 0;
+		paintNanos = 0;
+
+		double period = getFramePeriod();
+		if (costPerTick(paintInterval) > BUDGET * period) {
+			if (framerate > minimumFramerate) {
+				framerate = Math.max(minimumFramerate,
+						(int) (framerate / STEP));
+				lastDecision = Decision.LOWERED;
+			} else if (paintInterval < MAXIMUM_PAINT_INTERVAL) {
+				paintInterval++;
+				lastDecision = Decision.SHED_PAINTS;
+			}
+		} else if (paintInterval > 1) {
+			if (costPerTick(paintInterval - 1) < HEADROOM * period) {
+				paintInterval--;
+				lastDecision = Decision.RESUMED_PAINTS;
+			}
+		} else if (framerate < maximumFramerate) {
+			int raised = Math.min(maximumFramerate,
+					Math.max(framerate + 1, (int) (framerate * STEP)));
+			if (costPerTick(1) < HEADROOM * 1000000000L / raised) {
+				framerate = raised;
+				lastDecision = Decision.RAISED;
+			}
+		}
+	}
+
+	/**
+	 * The average time a tick takes, including its share of the paints, when
+	 * painting once every given number of ticks
+	 */
+	private double costPerTick(int interval) {
+		return averageTickNanos + averagePaintNanos / interval;
+	}
+}
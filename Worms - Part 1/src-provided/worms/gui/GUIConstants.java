@@ -13,10 +13,18 @@ public final class GUIConstants {
 	public static final int DEFAULT_WINDOW_HEIGHT = 768;
 
 	/**
-	 * Framerate at which to re-draw the screen, in frames per (real) second
+	 * Framerate at which to re-draw the screen, in frames per (real) second;
+	 * the game starts at this framerate and, when it cannot keep up, sheds
+	 * painting instead of going any lower
 	 */
 	public static final int FRAMERATE = 30; // fps
 
+	/**
+	 * Default framerate toward which the game rises when there is time left
+	 * in its frames, in frames per (real) second
+	 */
+	public static final int MAXIMUM_FRAMERATE = 120; // fps
+
 	/**
 	 * Time (in worm-seconds) that elapses in 1 real second
 	 */
@@ -53,6 +61,71 @@ public final class GUIConstants {
 	 */
 	public static final double RESIZE_FACTOR = 0.1;
 
+	/**
+	 * Distance the camera moves when pressing a 'pan' key a single time, in
+	 * pixels
+	 */
+	public static final double CAMERA_PAN_STEP = 50;
+
+	/**
+	 * Factor by which to zoom in or out for a single step of the mouse wheel
+	 */
+	public static final double CAMERA_ZOOM_FACTOR = 1.1;
+
+	/**
+	 * Distance outside of the screen, in pixels, beyond the radius of a worm,
+	 * within which worms are still drawn (so that names and action bars do
+	 * not pop in at the edges)
+	 */
+	public static final double CULLING_MARGIN = 100;
+
+	/**
+	 * Worms smaller than this on the screen (radius in pixels) are drawn as
+	 * dots instead of sprites
+	 */
+	public static final double LOD_DOT_RADIUS = 4;
+
+	/**
+	 * Worms smaller than this on the screen (radius in pixels) are drawn as
+	 * single pixels
+	 */
+	public static final double LOD_PIXEL_RADIUS = 1;
+
+	/**
+	 * When more worms than this are visible, all but the selected worm are
+	 * drawn as dots
+	 */
+	public static final int LOD_DOT_COUNT = 1000;
+
+	/**
+	 * When more worms than this are visible, all but the selected worm are
+	 * drawn as single pixels
+	 */
+	public static final int LOD_PIXEL_COUNT = 20000;
+
+	/**
+	 * Width and height of the tiles in which the screen is painted when
+	 * painting on several threads, in pixels
+	 */
+	public static final int RENDER_TILE_SIZE = 256;
+
+	/**
+	 * Number of pre-rendered name labels kept by each painter
+	 */
+	public static final int LABEL_CACHE_SIZE = 1024;
+
+	/**
+	 * Number of pre-rasterised selection circles, action bars and direction
+	 * indicators kept by each painter
+	 */
+	public static final int STAMP_CACHE_SIZE = 4096;
+
+	/**
+	 * Largest width or height, in pixels, of a shape that is drawn from a
+	 * pre-rasterised stamp; larger shapes are drawn directly
+	 */
+	public static final int STAMP_MAXIMUM_SIZE = 64;
+
 	/**
 	 * Time to display messages on the screen (in real seconds)
 	 */
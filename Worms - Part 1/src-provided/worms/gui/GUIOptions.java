@@ -3,4 +3,35 @@ package worms.gui;
 public class GUIOptions {
 	public boolean disableFullScreen = false;
 	public long randomSeed = 3;
-}
\ No newline at end of file
+
+	/**
+	 * Use exact sines and cosines when drawing, instead of the faster table
+	 * lookup (which is off by at most 3e-7)
+	 */
+	public boolean exactTrigonometry = false;
+
+	/**
+	 * Number of threads on which to paint the play field, in tiles; 1 paints
+	 * everything on the event dispatch thread
+	 */
+	public int renderThreads = 1;
+
+	/**
+	 * Paint the play field from a render loop at a fixed framerate, into the
+	 * buffers of a canvas, instead of through Swing's repaint requests
+	 */
+	public boolean activeRendering = false;
+
+	/**
+	 * Highest framerate at which the game is updated and painted, when there
+	 * is time left in its frames
+	 */
+	public int maximumFramerate = GUIConstants.MAXIMUM_FRAMERATE;
+
+	/**
+	 * Print the histograms of the time between an input event and the first
+	 * frame that shows its command, per type of command, when the game exits
+	 */
+	public boolean reportLatencies = false;
+
+}
@@ -1,13 +1,21 @@
 package worms.gui;
 
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
 
 import worms.util.Util;
 
 public class GUIUtils {
 
+	private static ColorModel translucentColorModel;
+
 	public static double meterToPixels(double m) {
 		return m * GUIConstants.WORLD_SCALE;
 	}
@@ -27,24 +35,104 @@ public class GUIUtils {
 		g2d.drawString(text, (int) (width / 2 - bounds.getCenterX()), (int) y);
 	}
 
+	/**
+	 * Set the rendering hints with which the game is drawn: antialiased, with
+	 * pure strokes, so that a shape looks the same wherever it is drawn and
+	 * can therefore be drawn from a pre-rendered stamp (see StampCache)
+	 */
+	public static void setRenderingHints(Graphics2D g) {
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+				RenderingHints.VALUE_STROKE_PURE);
+	}
+
+	/**
+	 * A new, fully transparent image in the translucent format that is the
+	 * fastest to draw on the screen, or with premultiplied alpha when there is
+	 * no screen
+	 */
+	public static BufferedImage createTranslucentImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * A new opaque image in the format that is the fastest to draw on the
+	 * screen
+	 */
+	public static BufferedImage createOpaqueImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_RGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.OPAQUE);
+	}
+
+	/**
+	 * The given image if it already is in the format of
+	 * createTranslucentImage, or else a copy of it in that format
+	 */
+	public static BufferedImage toTranslucentImage(Image image) {
+		if (image instanceof BufferedImage
+				&& ((BufferedImage) image).getColorModel().equals(
+						getTranslucentColorModel())) {
+			return (BufferedImage) image;
+		}
+		BufferedImage result = createTranslucentImage(image.getWidth(null),
+				image.getHeight(null));
+		Graphics2D resultGraphics = result.createGraphics();
+		resultGraphics.drawImage(image, 0, 0, null);
+		resultGraphics.dispose();
+		return result;
+	}
+
+	private static synchronized ColorModel getTranslucentColorModel() {
+		if (translucentColorModel == null) {
+			translucentColorModel = createTranslucentImage(1, 1)
+					.getColorModel();
+		}
+		return translucentColorModel;
+	}
+
 	public static double restrictDirection(double direction) {
 		return restrictAngle(direction, 0);
 	}
 
 	/**
 	 * Restrict angle to [min, min+2pi)
+	 * 
+	 * Takes the same time for any angle, instead of adding or subtracting 2pi
+	 * until the angle is in range.
 	 */
 	public static double restrictAngle(double angle, double min) {
-		while (angle < min) {
-			angle += 2 * Math.PI;
+		double period = 2 * Math.PI;
+		angle -= period * Math.floor((angle - min) / period);
+		if (angle < min) { // rounding error
+			angle += period;
 		}
-		double max = min + 2 * Math.PI;
-		while (Util.fuzzyGreaterThanOrEqualTo(angle, max)) {
-			angle -= 2 * Math.PI;
+		if (Util.fuzzyGreaterThanOrEqualTo(angle, min + period)) {
+			angle -= period;
 		}
 		return angle;
 	}
 
+	/**
+	 * Restrict every angle in the given array to [min, min+2pi), in place
+	 */
+	public static void restrictAngles(double[] angles, double min) {
+		for (int i = 0; i < angles.length; i++) {
+			angles[i] = restrictAngle(angles[i], min);
+		}
+	}
+
 	public static double distance(double x1, double y1, double x2, double y2) {
 		double dx = x1 - x2;
 		double dy = y1 - y2;
@@ -6,17 +6,23 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import worms.gui.game.commands.Command;
 import worms.gui.game.commands.CommandProcessor;
+import worms.gui.game.commands.LatencyHistogram;
 import worms.model.IFacade;
+import worms.model.WorldFacade;
 import worms.model.Worm;
+import worms.model.WormChanges;
+import worms.model.WormWorld;
 
 public class GameState {
 
 	private final Random random;
 	private final IFacade facade;
+	private final WormWorld world;
 	private final Collection<Worm> worms = new ArrayList<Worm>();
 	private final CommandProcessor commandProcessor = new CommandProcessor();
 
@@ -29,6 +35,7 @@ public class GameState {
 	public GameState(IFacade facade, long randomSeed, int width, int height) {
 		this.random = new Random(randomSeed);
 		this.facade = facade;
+		this.world = WorldFacade.findWorld(facade);
 		this.width = width;
 		this.height = height;
 	}
@@ -91,12 +98,39 @@ public class GameState {
 		return Collections.unmodifiableCollection(worms);
 	}
 
+	/**
+	 * The world in which the facade stores the worms, or null if the facade
+	 * does not use one
+	 */
+	public WormWorld getWorld() {
+		return world;
+	}
+
 	public void evolve(double timeDelta) {
 		commandProcessor.advanceCommandQueue(timeDelta);
+		WormChanges.flush();
+		if (world != null) {
+			world.update(timeDelta);
+		}
 	}
 
 	public void enqueueCommand(Command cmd) {
 		commandProcessor.enqueueCommand(cmd);
 	}
 
+	/**
+	 * Record that a frame showing the current state of the game was painted
+	 * at the given time, in milliseconds since the epoch
+	 */
+	public void framePainted(long time) {
+		commandProcessor.framePainted(time);
+	}
+
+	/**
+	 * The input-to-display latencies of the commands, by type
+	 */
+	public Map<String, LatencyHistogram> getCommandLatencies() {
+		return commandProcessor.getLatencies();
+	}
+
 }
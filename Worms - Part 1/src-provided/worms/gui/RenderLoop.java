@@ -0,0 +1,153 @@
+package worms.gui;
+
+import java.awt.Canvas;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Active rendering: a thread of its own starts every frame at the rate
+ * chosen by a FrameRateGovernor, updates the game and, unless the governor
+ * sheds the paint, paints the screen straight into the buffers of a canvas,
+ * without going through repaint requests.
+ * 
+ * The update and the painting of a frame are run on the event dispatch
+ * thread, between input events, because the game state and the facade may
+ * only be used from one thread; the render thread only decides when a frame
+ * starts and waits for it to finish.
+ */
+public class RenderLoop implements Runnable {
+
+	private static final int BUFFERS = 2;
+
+	private final Screen screen;
+	private final Canvas canvas;
+	private final FrameRateGovernor governor;
+	private final Runnable update;
+
+	private final Runnable frame = new Runnable() {
+		@Override
+		public void run() {
+			renderFrame();
+		}
+	};
+
+	private volatile boolean running;
+	private Thread thread;
+
+	/**
+	 * @param screen
+	 *            The screen to paint, of which the contents must be the given
+	 *            canvas
+	 * @param governor
+	 *            Decides the time between frames, and which frames are
+	 *            painted
+	 * @param update
+	 *            Run at the start of every frame, before painting
+	 */
+	public RenderLoop(Screen screen, Canvas canvas,
+			FrameRateGovernor governor, Runnable update) {
+		this.screen = screen;
+		this.canvas = canvas;
+		this.governor = governor;
+		this.update = update;
+	}
+
+	public void start() {
+		running = true;
+		thread = new Thread(this, "Worms render loop");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public void stop() {
+		running = false;
+	}
+
+	@Override
+	public void run() {
+		long nextFrame = System.nanoTime();
+		while (running) {
+			try {
+				EventQueue.invokeAndWait(frame);
+			} catch (InterruptedException e) {
+				return;
+			} catch (final InvocationTargetException e) {
+				running = false;
+				final Thread renderThread = Thread.currentThread();
+				final Thread.UncaughtExceptionHandler handler = Thread
+						.getDefaultUncaughtExceptionHandler();
+				if (handler != null) {
+					// the handler shows the error in the GUI, which may only
+					// be done on the event dispatch thread
+					EventQueue.invokeLater(new Runnable() {
+						@Override
+						public void run() {
+							handler.uncaughtException(renderThread, e.getCause());
+						}
+					});
+				}
+				return;
+			}
+
+			long framePeriod = governor.getFramePeriod();
+			nextFrame += framePeriod;
+			long now = System.nanoTime();
+			if (now - nextFrame > framePeriod) {
+				// more than a frame behind: skip the missed frames instead of
+				// running them back to back
+				nextFrame = now;
+			} else if (nextFrame > now) {
+				sleepUntil(nextFrame);
+			}
+		}
+	}
+
+	private static void sleepUntil(long time) {
+		long remaining;
+		while ((remaining = time - System.nanoTime()) > 0) {
+			try {
+				Thread.sleep(remaining / 1000000, (int) (remaining % 1000000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void renderFrame() {
+		if (!running) {
+			return;
+		}
+		update.run();
+		if (!governor.shouldPaint()) {
+			return;
+		}
+		if (!canvas.isDisplayable() || canvas.getWidth() <= 0
+				|| canvas.getHeight() <= 0) {
+			return;
+		}
+		BufferStrategy strategy = canvas.getBufferStrategy();
+		if (strategy == null) {
+			canvas.createBufferStrategy(BUFFERS);
+			strategy = canvas.getBufferStrategy();
+		}
+		do {
+			do {
+				Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					g.setColor(canvas.getBackground());
+					g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+					g.setFont(canvas.getFont());
+					screen.paintFrame(g);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+}
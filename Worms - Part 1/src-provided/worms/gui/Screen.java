@@ -1,22 +1,24 @@
 package worms.gui;
 
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
 
 import javax.swing.JPanel;
 
 public abstract class Screen {
 
 	protected class InputMode implements KeyListener, MouseListener,
-			MouseMotionListener {
+			MouseMotionListener, MouseWheelListener {
 
 		public void paintOverlay(Graphics2D g) {
 		}
@@ -65,10 +67,15 @@ public abstract class Screen {
 		@Override
 		public void mouseMoved(MouseEvent e) {
 		}
+
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent e) {
+		}
 	}
 
 	private final WormsGUI gui;
 	private final Component contents;
+	private final Camera camera = new Camera();
 
 	protected Screen(WormsGUI gui) {
 		this.gui = gui;
@@ -83,24 +90,48 @@ public abstract class Screen {
 	}
 
 	protected Component createContents() {
-		@SuppressWarnings("serial")
-		Component result = new JPanel() {
-			@Override
-			public void paint(Graphics g) {
-				super.paint(g);
-				Graphics2D graphics = (Graphics2D) g;
-				graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-						RenderingHints.VALUE_ANTIALIAS_ON);
-
-				Screen.this.paintScreen(graphics);
-
-				getCurrentInputMode().paintOverlay(graphics);
-			}
-		};
+		Component result;
+		if (usesActiveRendering()) {
+			result = new Canvas();
+			// painted by a RenderLoop only
+			result.setIgnoreRepaint(true);
+		} else {
+			@SuppressWarnings("serial")
+			Component panel = new JPanel() {
+				@Override
+				public void paint(Graphics g) {
+					super.paint(g);
+					paintFrame((Graphics2D) g);
+				}
+			};
+			result = panel;
+		}
 		result.setBackground(Color.BLACK);
 		return result;
 	}
 
+	/**
+	 * Whether this screen is painted by a RenderLoop on a canvas, instead of
+	 * on a panel when Swing asks for it.
+	 * 
+	 * This is asked while the screen is being created, so it may only depend
+	 * on the GUI.
+	 */
+	protected boolean usesActiveRendering() {
+		return false;
+	}
+
+	/**
+	 * Paint the screen and the overlay of the current input mode
+	 */
+	void paintFrame(Graphics2D graphics) {
+		GUIUtils.setRenderingHints(graphics);
+
+		paintScreen(graphics);
+
+		getCurrentInputMode().paintOverlay(graphics);
+	}
+
 	public WormsGUI getGUI() {
 		return gui;
 	}
@@ -118,12 +149,14 @@ public abstract class Screen {
 			contents.removeKeyListener(currentInputMode);
 			contents.removeMouseListener(currentInputMode);
 			contents.removeMouseMotionListener(currentInputMode);
+			contents.removeMouseWheelListener(currentInputMode);
 		}
 		currentInputMode = newMode;
 		if (newMode != null) {
 			contents.addKeyListener(newMode);
 			contents.addMouseListener(newMode);
 			contents.addMouseMotionListener(newMode);
+			contents.addMouseWheelListener(newMode);
 		}
 	}
 
@@ -137,6 +170,17 @@ public abstract class Screen {
 	
 	protected abstract void screenStarted();
 
+	/**
+	 * Called when another screen is shown instead of this one, or when the
+	 * game exits while this screen is shown
+	 */
+	protected void screenStopped() {
+	}
+
+	public final void stopScreen() {
+		screenStopped();
+	}
+
 	public int getScreenHeight() {
 		return getPanel().getHeight();
 	}
@@ -146,23 +190,53 @@ public abstract class Screen {
 	}
 
 	public void repaint() {
-		getPanel().repaint();
+		// a screen that is rendered actively is repainted every frame anyway
+		if (!usesActiveRendering()) {
+			getPanel().repaint();
+		}
+	}
+
+	public Camera getCamera() {
+		return camera;
 	}
 
 	public double getScreenX(double x) {
-		return getScreenWidth() / 2.0 + GUIUtils.meterToPixels(x);
+		return getScreenWidth() / 2.0 + (x - camera.getX())
+				* camera.getPixelsPerMeter();
 	}
 
 	public double getLogicalX(double screenX) {
-		return GUIUtils.pixelToMeter(screenX - getScreenWidth() / 2.0);
+		return camera.getX() + (screenX - getScreenWidth() / 2.0)
+				/ camera.getPixelsPerMeter();
 	}
 
 	public double getScreenY(double y) {
-		return getScreenHeight() / 2.0 - GUIUtils.meterToPixels(y);
+		return getScreenHeight() / 2.0 - (y - camera.getY())
+				* camera.getPixelsPerMeter();
 	}
 
 	public double getLogicalY(double screenY) {
-		return GUIUtils.pixelToMeter(getScreenHeight() / 2.0 - screenY);
+		return camera.getY() + (getScreenHeight() / 2.0 - screenY)
+				/ camera.getPixelsPerMeter();
+	}
+
+	/**
+	 * Length on the screen (in pixels) of the given distance in the world (in
+	 * worm-meter)
+	 */
+	public double getScreenDistance(double distance) {
+		return distance * camera.getPixelsPerMeter();
+	}
+
+	/**
+	 * Whether the given point of the world is on the screen, or at most the
+	 * given number of pixels outside of it
+	 */
+	public boolean isVisible(double x, double y, double margin) {
+		double screenX = getScreenX(x);
+		double screenY = getScreenY(y);
+		return screenX >= -margin && screenX <= getScreenWidth() + margin
+				&& screenY >= -margin && screenY <= getScreenHeight() + margin;
 	}
 
 }
@@ -0,0 +1,143 @@
+package worms.gui.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * An image the size of the screen into which worms that are drawn as dots or
+ * single pixels are written directly, so that all of them are drawn with a
+ * single drawImage instead of one shape each.
+ * 
+ * Dots are stamped from antialiased masks, one per radius (rounded to a
+ * quarter of a pixel), and centered on the nearest pixel. Where dots overlap,
+ * the highest coverage wins; as all dots have the same colour, this looks the
+ * same as drawing them on top of each other.
+ */
+class DotLayer {
+
+	private static final int SUBSAMPLES = 4;
+
+	private final int[] premultipliedColors = new int[256];
+
+	private int[][] masks = new int[0][];
+
+	private BufferedImage image;
+	private int[] data;
+	private int originX;
+	private int originY;
+	private int width;
+	private int height;
+
+	private boolean empty = true;
+
+	DotLayer(Color color) {
+		for (int alpha = 0; alpha < 256; alpha++) {
+			premultipliedColors[alpha] = (alpha << 24)
+					| (color.getRed() * alpha / 255) << 16
+					| (color.getGreen() * alpha / 255) << 8
+					| (color.getBlue() * alpha / 255);
+		}
+	}
+
+	/**
+	 * Clear the layer, making it cover the given area of the screen
+	 */
+	void clear(int x, int y, int width, int height) {
+		originX = x;
+		originY = y;
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+		if (image == null || this.width != width || this.height != height) {
+			this.width = width;
+			this.height = height;
+			image = new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_ARGB_PRE);
+			data = ((DataBufferInt) image.getRaster().getDataBuffer())
+					.getData();
+		} else if (!empty) {
+			Arrays.fill(data, 0);
+		}
+		empty = true;
+	}
+
+	void stampPixel(double x, double y) {
+		put((int) Math.floor(x) - originX, (int) Math.floor(y) - originY, 255);
+	}
+
+	/**
+	 * @param r
+	 *            radius (in pixels)
+	 */
+	void stampDot(double x, double y, double r) {
+		int quarters = Math.max(1, (int) Math.round(r * SUBSAMPLES));
+		int[] mask = getMask(quarters);
+		int size = (int) Math.sqrt(mask.length);
+		int half = size / 2;
+		int cx = (int) Math.floor(x) - originX;
+		int cy = (int) Math.floor(y) - originY;
+		for (int my = 0; my < size; my++) {
+			for (int mx = 0; mx < size; mx++) {
+				int coverage = mask[my * size + mx];
+				if (coverage > 0) {
+					put(cx + mx - half, cy + my - half, coverage);
+				}
+			}
+		}
+	}
+
+	private void put(int x, int y, int coverage) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			return;
+		}
+		int index = y * width + x;
+		if ((data[index] >>> 24) < coverage) {
+			data[index] = premultipliedColors[coverage];
+			empty = false;
+		}
+	}
+
+	/**
+	 * The coverage (0-255) of the pixels around a dot with a radius of the
+	 * given number of quarter pixels, centered on the middle pixel
+	 */
+	private int[] getMask(int quarters) {
+		if (quarters >= masks.length) {
+			masks = Arrays.copyOf(masks, quarters + 1);
+		}
+		if (masks[quarters] == null) {
+			double r = (double) quarters / SUBSAMPLES;
+			int half = (int) Math.ceil(r);
+			int size = 2 * half + 1;
+			int[] mask = new int[size * size];
+			for (int my = 0; my < size; my++) {
+				for (int mx = 0; mx < size; mx++) {
+					int inside = 0;
+					for (int sy = 0; sy < SUBSAMPLES; sy++) {
+						for (int sx = 0; sx < SUBSAMPLES; sx++) {
+							double px = mx - half - 0.5 + (sx + 0.5)
+									/ SUBSAMPLES;
+							double py = my - half - 0.5 + (sy + 0.5)
+									/ SUBSAMPLES;
+							if (px * px + py * py <= r * r) {
+								inside++;
+							}
+						}
+					}
+					mask[my * size + mx] = inside * 255
+							/ (SUBSAMPLES * SUBSAMPLES);
+				}
+			}
+			masks[quarters] = mask;
+		}
+		return masks[quarters];
+	}
+
+	void drawTo(Graphics2D g) {
+		if (!empty) {
+			g.drawImage(image, originX, originY, null);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package worms.gui.game;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import worms.gui.GUIUtils;
+
+/**
+ * Text labels (a text on a rounded background) rendered once into a small
+ * translucent image, so that drawing the same label again is a single image
+ * copy instead of a text layout.
+ * 
+ * Labels are identified by their text, font and colours. When there are more
+ * labels than the capacity, the least recently used one is forgotten.
+ * 
+ * A label cache must only be used by one thread.
+ */
+public class LabelCache {
+
+	public static class Label {
+		private final BufferedImage image;
+		private final double textWidth;
+		private final double textHeight;
+		private final double hMargin;
+		private final double vMargin;
+
+		private Label(BufferedImage image, double textWidth,
+				double textHeight, double hMargin, double vMargin) {
+			this.image = image;
+			this.textWidth = textWidth;
+			this.textHeight = textHeight;
+			this.hMargin = hMargin;
+			this.vMargin = vMargin;
+		}
+
+		public double getTextWidth() {
+			return textWidth;
+		}
+
+		public double getTextHeight() {
+			return textHeight;
+		}
+
+		/**
+		 * Draw the label with the baseline of the text starting at the given
+		 * point
+		 */
+		public void draw(Graphics2D g, double x, double y) {
+			g.drawImage(image, (int) Math.round(x - hMargin),
+					(int) Math.round(y - textHeight - vMargin), null);
+		}
+	}
+
+	private static final class Key {
+		private String text;
+		private Font font;
+		private Color textColor;
+		private Color background;
+
+		private Key set(String text, Font font, Color textColor,
+				Color background) {
+			this.text = text;
+			this.font = font;
+			this.textColor = textColor;
+			this.background = background;
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return text.equals(other.text) && font.equals(other.font)
+					&& textColor.equals(other.textColor)
+					&& background.equals(other.background);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((text.hashCode() * 31 + font.hashCode()) * 31 + textColor
+					.hashCode()) * 31 + background.hashCode();
+		}
+	}
+
+	private final int capacity;
+
+	private final Map<Key, Label> labels;
+
+	// reused for every lookup, so that finding a label does not allocate
+	private final Key lookup = new Key();
+
+	private int layoutsAvoided;
+	private int layouts;
+
+	@SuppressWarnings("serial")
+	public LabelCache(final int capacity) {
+		this.capacity = capacity;
+		this.labels = new LinkedHashMap<Key, Label>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Label> eldest) {
+				return size() > LabelCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * The label for the given text, in the current font of the given graphics
+	 */
+	public Label get(Graphics2D g, String text, Color textColor,
+			Color background, double hMargin, double vMargin) {
+		Font font = g.getFont();
+		Label label = labels.get(lookup.set(text, font, textColor, background));
+		if (label == null) {
+			label = render(g, text, textColor, background, hMargin, vMargin);
+			labels.put(new Key().set(text, font, textColor, background), label);
+			layouts++;
+		} else {
+			layoutsAvoided++;
+		}
+		lookup.set(null, null, null, null);
+		return label;
+	}
+
+	private Label render(Graphics2D g, String text, Color textColor,
+			Color background, double hMargin, double vMargin) {
+		Rectangle2D bounds = g.getFontMetrics().getStringBounds(text, g);
+		double textWidth = bounds.getWidth();
+		double textHeight = bounds.getHeight();
+		BufferedImage image = GUIUtils.createTranslucentImage(
+				(int) Math.ceil(textWidth + 2 * hMargin) + 1,
+				(int) Math.ceil(textHeight + 2 * vMargin) + 1);
+		Graphics2D labelGraphics = image.createGraphics();
+		labelGraphics.setRenderingHints(g.getRenderingHints());
+		labelGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+		labelGraphics.setFont(g.getFont());
+		labelGraphics.setColor(background);
+		labelGraphics.fill(new RoundRectangle2D.Double(0, 0, textWidth + 2
+				* hMargin, textHeight + 2 * vMargin, 5, 5));
+		labelGraphics.setColor(textColor);
+		labelGraphics.drawString(text, (float) hMargin,
+				(float) (textHeight + vMargin));
+		labelGraphics.dispose();
+		return new Label(image, textWidth, textHeight, hMargin, vMargin);
+	}
+
+	/**
+	 * Forget all labels with the given text
+	 */
+	public void invalidate(String text) {
+		Iterator<Key> keys = labels.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().text.equals(text)) {
+				keys.remove();
+			}
+		}
+	}
+
+	public int size() {
+		return labels.size();
+	}
+
+	/**
+	 * Start counting the text layouts of a new frame
+	 */
+	public void startFrame() {
+		layoutsAvoided = 0;
+		layouts = 0;
+	}
+
+	/**
+	 * Number of labels that were drawn from the cache since the frame started,
+	 * each of which would otherwise have needed a text layout
+	 */
+	public int getLayoutsAvoided() {
+		return layoutsAvoided;
+	}
+
+	/**
+	 * Number of labels that had to be laid out since the frame started
+	 */
+	public int getLayouts() {
+		return layouts;
+	}
+}
@@ -0,0 +1,150 @@
+package worms.gui.game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import worms.gui.GUIUtils;
+
+/**
+ * Paints the play field in layers, each of which is only painted again when
+ * it has changed:
+ * <ul>
+ * <li>the background, which is kept in an image until the camera moves or
+ * the screen changes size;</li>
+ * <li>the worms, painted on a copy of the background and kept in an image
+ * until a worm looks different on the screen or the background changed;</li>
+ * <li>the overlay (input modes, messages and statistics), which is not kept
+ * but painted on every frame by the screen, on top of the others.</li>
+ * </ul>
+ * A frame in which nothing but the overlay changed is a single copy of an
+ * image. While the worms change on every frame, for instance during a move,
+ * they are painted straight onto the screen instead, since keeping a layer
+ * that is never reused would only add a copy.
+ */
+public class LayeredRenderer {
+
+	private final PlayGameScreen screen;
+	private final PlayGameScreenPainter painter;
+
+	private BufferedImage background;
+	private BufferedImage worms;
+
+	private boolean backgroundValid;
+	private boolean wormsValid;
+	private int backgroundCameraVersion;
+	private boolean wormsChangedBefore;
+
+	private long frameCount;
+	private long backgroundPaintCount;
+	private long wormsPaintCount;
+
+	public LayeredRenderer(PlayGameScreen screen, PlayGameScreenPainter painter) {
+		this.screen = screen;
+		this.painter = painter;
+	}
+
+	/**
+	 * Paint the background again on the next frame
+	 */
+	public void invalidateBackground() {
+		backgroundValid = false;
+	}
+
+	/**
+	 * Paint the worms again on the next frame, even if they look the same
+	 */
+	public void invalidateWorms() {
+		wormsValid = false;
+	}
+
+	/**
+	 * Paint the background and the worms, using the layers of the previous
+	 * frame where nothing changed
+	 */
+	public void paint(Graphics2D g) {
+		frameCount++;
+		int width = screen.getScreenWidth();
+		int height = screen.getScreenHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		if (background == null || background.getWidth() != width
+				|| background.getHeight() != height) {
+			background = GUIUtils.createOpaqueImage(width, height);
+			worms = GUIUtils.createOpaqueImage(width, height);
+			invalidateBackground();
+		}
+		if (screen.getCamera().getVersion() != backgroundCameraVersion) {
+			invalidateBackground();
+		}
+
+		boolean wormsChanged = painter.extractFrame();
+		if (wormsChanged) {
+			invalidateWorms();
+		}
+
+		if (!backgroundValid) {
+			Graphics2D backgroundGraphics = createGraphics(background, g);
+			try {
+				painter.paintBackground(backgroundGraphics, width, height);
+			} finally {
+				backgroundGraphics.dispose();
+			}
+			backgroundCameraVersion = screen.getCamera().getVersion();
+			backgroundValid = true;
+			backgroundPaintCount++;
+			invalidateWorms();
+		}
+
+		if (wormsChanged && wormsChangedBefore) {
+			g.drawImage(background, 0, 0, null);
+			painter.paintWorms(g);
+			wormsPaintCount++;
+			return;
+		}
+		wormsChangedBefore = wormsChanged;
+
+		if (!wormsValid) {
+			Graphics2D wormsGraphics = createGraphics(worms, g);
+			try {
+				wormsGraphics.drawImage(background, 0, 0, null);
+				painter.paintWorms(wormsGraphics);
+			} finally {
+				wormsGraphics.dispose();
+			}
+			wormsValid = true;
+			wormsPaintCount++;
+		}
+
+		g.drawImage(worms, 0, 0, null);
+	}
+
+	private static Graphics2D createGraphics(BufferedImage image,
+			Graphics2D screenGraphics) {
+		Graphics2D result = image.createGraphics();
+		result.setRenderingHints(screenGraphics.getRenderingHints());
+		result.setFont(screenGraphics.getFont());
+		return result;
+	}
+
+	/**
+	 * Number of frames painted
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Number of frames in which the background was painted again
+	 */
+	public long getBackgroundPaintCount() {
+		return backgroundPaintCount;
+	}
+
+	/**
+	 * Number of frames in which the worms were painted again
+	 */
+	public long getWormsPaintCount() {
+		return wormsPaintCount;
+	}
+}
@@ -0,0 +1,42 @@
+package worms.gui.game;
+
+import worms.gui.GUIConstants;
+
+/**
+ * How much of a worm is drawn, depending on how large it is on the screen and
+ * on how many worms are visible.
+ */
+public enum LevelOfDetail {
+
+	/**
+	 * Sprite, name, action bar and indicators
+	 */
+	FULL,
+
+	/**
+	 * A filled dot of the worm's size, but no larger than
+	 * GUIConstants.LOD_DOT_RADIUS, without name or action bar
+	 */
+	DOT,
+
+	/**
+	 * A single pixel
+	 */
+	PIXEL;
+
+	/**
+	 * The level of detail for a worm with the given radius on the screen (in
+	 * pixels), when the given number of worms is visible
+	 */
+	public static LevelOfDetail choose(double radius, int visibleCount) {
+		if (radius < GUIConstants.LOD_PIXEL_RADIUS
+				|| visibleCount > GUIConstants.LOD_PIXEL_COUNT) {
+			return PIXEL;
+		}
+		if (radius < GUIConstants.LOD_DOT_RADIUS
+				|| visibleCount > GUIConstants.LOD_DOT_COUNT) {
+			return DOT;
+		}
+		return FULL;
+	}
+}
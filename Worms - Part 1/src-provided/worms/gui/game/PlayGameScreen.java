@@ -1,32 +1,48 @@
 package worms.gui.game;
 
+import java.awt.Canvas;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.Timer;
 
+import worms.gui.FrameRateGovernor;
 import worms.gui.GUIConstants;
 import worms.gui.GUIUtils;
 import worms.gui.GameState;
+import worms.gui.RenderLoop;
 import worms.gui.Screen;
 import worms.gui.WormsGUI;
 import worms.gui.game.commands.Jump;
+import worms.gui.game.commands.LatencyHistogram;
 import worms.gui.game.commands.Move;
 import worms.gui.game.commands.Rename;
 import worms.gui.game.commands.Resize;
 import worms.gui.game.commands.Turn;
 import worms.gui.game.sprites.Sprite;
 import worms.gui.game.sprites.WormSprite;
+import worms.model.CachingFacade;
 import worms.model.IFacade;
 import worms.model.Worm;
+import worms.model.WormChange;
+import worms.model.WormChangeListener;
+import worms.model.WormChanges;
+import worms.model.WormWorld;
 
 public class PlayGameScreen extends Screen {
 
@@ -35,12 +51,13 @@ public class PlayGameScreen extends Screen {
 		@Override
 		public void mouseClicked(MouseEvent e) {
 			Point point = e.getPoint();
-			for (WormSprite sprite : getSpritesOfType(WormSprite.class)) {
+			double x = getLogicalX(point.getX());
+			double y = getLogicalY(point.getY());
+			for (WormSprite sprite : getWormSprites()) {
 				Worm worm = sprite.getWorm();
 				double[] xy = sprite.getCenterLocation();
-				double radius = GUIUtils.meterToPixels(getFacade().getRadius(
-						worm));
-				if (GUIUtils.distance(xy[0], xy[1], point.getX(), point.getY()) <= radius) {
+				double radius = getFacade().getRadius(worm);
+				if (GUIUtils.distance(xy[0], xy[1], x, y) <= radius) {
 					getGameState().selectWorm(worm);
 					return;
 				}
@@ -64,9 +81,36 @@ public class PlayGameScreen extends Screen {
 			case KeyEvent.VK_UP:
 				move(GUIConstants.DEFAULT_NB_STEPS);
 				break;
+			case KeyEvent.VK_W:
+				panCamera(0, -GUIConstants.CAMERA_PAN_STEP);
+				break;
+			case KeyEvent.VK_A:
+				panCamera(-GUIConstants.CAMERA_PAN_STEP, 0);
+				break;
+			case KeyEvent.VK_S:
+				panCamera(0, GUIConstants.CAMERA_PAN_STEP);
+				break;
+			case KeyEvent.VK_D:
+				panCamera(GUIConstants.CAMERA_PAN_STEP, 0);
+				break;
+			case KeyEvent.VK_HOME:
+				getCamera().reset();
+				break;
 			}
 		}
 
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent e) {
+			double factor = Math.pow(GUIConstants.CAMERA_ZOOM_FACTOR,
+					-e.getWheelRotation());
+			// keep the point under the mouse in place
+			double x = getLogicalX(e.getX());
+			double y = getLogicalY(e.getY());
+			getCamera().zoomBy(factor);
+			getCamera().pan(x - getLogicalX(e.getX()),
+					y - getLogicalY(e.getY()));
+		}
+
 		@Override
 		public void keyReleased(KeyEvent e) {
 			switch (e.getKeyCode()) {
@@ -156,11 +200,12 @@ public class PlayGameScreen extends Screen {
 		public void mouseDragged(MouseEvent e) {
 			double[] wormXY = getWormSprite(getSelectedWorm())
 					.getCenterLocation();
+			double wormX = getScreenX(wormXY[0]);
+			double wormY = getScreenY(wormXY[1]);
 			double currentOrientation = getFacade().getOrientation(
 					getSelectedWorm());
-			this.angle = Math.PI
-					- currentOrientation
-					+ Math.atan2((e.getY() - wormXY[1]), (wormXY[0] - e.getX()));
+			this.angle = Math.PI - currentOrientation
+					+ Math.atan2((e.getY() - wormY), (wormX - e.getX()));
 		}
 
 		@Override
@@ -228,9 +273,14 @@ public class PlayGameScreen extends Screen {
 	}
 
 	private final PlayGameScreenPainter painter;
+	private final LayeredRenderer layers;
+	private final FrameRateGovernor governor;
 	private final GameState gameState;
 
 	private final Set<Sprite> sprites = new HashSet<Sprite>();
+	private final List<WormSprite> wormSprites = new ArrayList<WormSprite>();
+	private final List<WormSprite> wormSpritesView = Collections
+			.unmodifiableList(wormSprites);
 
 	private static class MessageDisplay {
 		private LinkedList<String> messages = new LinkedList<String>();
@@ -279,10 +329,26 @@ public class PlayGameScreen extends Screen {
 
 	private MessageDisplay messageDisplay = new MessageDisplay();
 
+	private final WormChangeListener changeListener = new WormChangeListener() {
+		@Override
+		public void wormChanged(Worm worm, Set<WormChange> changes) {
+			updateWormSprite(worm, changes);
+		}
+	};
+
+	private Runnable stopGameLoop;
+
 	public PlayGameScreen(WormsGUI gui, GameState state) {
 		super(gui);
 		this.gameState = state;
 		this.painter = createPainter();
+		int threads = gui.getOptions().renderThreads;
+		if (threads > 1 && painter.canPaintInTiles()) {
+			painter.setTiledRenderer(new TiledRenderer(this, threads));
+		}
+		this.layers = new LayeredRenderer(this, painter);
+		this.governor = new FrameRateGovernor(GUIConstants.FRAMERATE, gui
+				.getOptions().maximumFramerate);
 	}
 
 	protected InputMode createDefaultInputMode() {
@@ -295,43 +361,140 @@ public class PlayGameScreen extends Screen {
 		runGameLoop();
 	}
 
+	@Override
+	protected void screenStopped() {
+		if (stopGameLoop != null) {
+			stopGameLoop.run();
+		}
+		painter.dispose();
+		WormChanges.removeListener(changeListener);
+		if (getGUI().getOptions().reportLatencies) {
+			for (Map.Entry<String, LatencyHistogram> entry : gameState
+					.getCommandLatencies().entrySet()) {
+				LatencyHistogram histogram = entry.getValue();
+				System.out.println("Input-to-display latency of "
+						+ entry.getKey() + ": " + histogram.getCount()
+						+ " commands, mean " + Math.round(histogram.getMean())
+						+ " ms, 50% within " + histogram.getPercentile(0.5)
+						+ " ms, 95% within " + histogram.getPercentile(0.95)
+						+ " ms, 99% within " + histogram.getPercentile(0.99)
+						+ " ms, maximum " + histogram.getMaximum() + " ms");
+				System.out.print(histogram);
+			}
+		}
+	}
+
+	@Override
+	protected boolean usesActiveRendering() {
+		return getGUI().getOptions().activeRendering;
+	}
+
 	private void runGameLoop() {
 		final AtomicLong lastUpdateTimestamp = new AtomicLong();
 
-		final Timer timer = new Timer(1000 / GUIConstants.FRAMERATE,
-				new ActionListener() {
-					@Override
-					public void actionPerformed(ActionEvent e) {
-						long now = System.currentTimeMillis();
-						long delta = now - lastUpdateTimestamp.getAndSet(now);
-						double dt = delta / 1000.0 * GUIConstants.TIME_SCALE;
-						gameState.evolve(dt);
+		if (usesActiveRendering()) {
+			final RenderLoop loop = new RenderLoop(this,
+					(Canvas) getPanel(), governor, new Runnable() {
+						@Override
+						public void run() {
+							evolve(lastUpdateTimestamp);
+						}
+					});
+			setGameLoopStopper(new Runnable() {
+				@Override
+				public void run() {
+					loop.stop();
+				}
+			});
+			lastUpdateTimestamp.set(System.currentTimeMillis());
+			loop.start();
+		} else {
+			final Timer timer = new Timer(getTimerDelay(), null);
+			timer.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					evolve(lastUpdateTimestamp);
+					if (governor.shouldPaint()) {
 						repaint();
 					}
-				});
+					timer.setDelay(getTimerDelay());
+				}
+			});
+			setGameLoopStopper(new Runnable() {
+				@Override
+				public void run() {
+					timer.stop();
+				}
+			});
+			lastUpdateTimestamp.set(System.currentTimeMillis());
+			timer.start();
+		}
+	}
+
+	/**
+	 * Stop the game loop with the given runnable when this screen stops, or
+	 * when an exception is not caught
+	 */
+	private void setGameLoopStopper(final Runnable stopGameLoop) {
+		this.stopGameLoop = stopGameLoop;
 		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
 			@Override
 			public void uncaughtException(Thread t, Throwable e) {
-				timer.stop();
+				stopGameLoop.run();
 				e.printStackTrace();
 				getGUI().showError(
 						e.getClass().getName() + ": " + e.getMessage());
 			}
 		});
-		lastUpdateTimestamp.set(System.currentTimeMillis());
-		timer.start();
+	}
+
+	private int getTimerDelay() {
+		return Math.max(1, (int) (governor.getFramePeriod() / 1000000));
+	}
+
+	private void evolve(AtomicLong lastUpdateTimestamp) {
+		long start = System.nanoTime();
+		long now = System.currentTimeMillis();
+		long delta = now - lastUpdateTimestamp.getAndSet(now);
+		double dt = delta / 1000.0 * GUIConstants.TIME_SCALE;
+		gameState.evolve(dt);
+		governor.tickFinished(System.nanoTime() - start);
 	}
 
 	public void createSprites() {
+		WormWorld world = getGameState().getWorld();
+		WormRenderSystem renderSystem = new WormRenderSystem();
 		for (Worm worm : getGameState().getWorms()) {
 			WormSprite sprite = createWormSprite(worm);
 			sprites.add(sprite);
+			wormSprites.add(sprite);
+			if (world != null) {
+				renderSystem.setSprite(world.getEntity(worm), sprite);
+			}
+		}
+		if (world != null) {
+			world.addSystem(renderSystem);
+		} else {
+			WormChanges.addListener(changeListener);
+		}
+	}
+
+	private void updateWormSprite(Worm worm, Set<WormChange> changes) {
+		WormSprite sprite = getWormSprite(worm);
+		if (sprite == null) {
+			return;
+		}
+		if (changes.contains(WormChange.TURNED)) {
+			sprite.setDirection(getFacade().getOrientation(worm));
+		}
+		if (changes.contains(WormChange.RESIZED)) {
+			sprite.setRadius(getFacade().getRadius(worm));
 		}
 	}
 
 	private WormSprite createWormSprite(Worm worm) {
-		double x = getScreenX(getFacade().getX(worm));
-		double y = getScreenY(getFacade().getY(worm));
+		double x = getFacade().getX(worm);
+		double y = getFacade().getY(worm);
 		WormSprite sprite = new WormSprite(worm);
 		sprite.setCenterLocation(x, y);
 		sprite.setDirection(getFacade().getOrientation(worm));
@@ -347,6 +510,27 @@ public class PlayGameScreen extends Screen {
 		return getGameState().getFacade();
 	}
 
+	/**
+	 * Forget the pre-rendered label of a name that a worm no longer has
+	 */
+	public void nameChanged(String oldName) {
+		painter.invalidateLabels(oldName);
+	}
+
+	/**
+	 * Decides the framerate of the game loop, and which frames are painted
+	 */
+	public FrameRateGovernor getFrameRateGovernor() {
+		return governor;
+	}
+
+	/**
+	 * The layers in which the screen is painted
+	 */
+	public LayeredRenderer getLayeredRenderer() {
+		return layers;
+	}
+
 	protected PlayGameScreenPainter createPainter() {
 		return new PlayGameScreenPainter(this);
 	}
@@ -361,8 +545,15 @@ public class PlayGameScreen extends Screen {
 		return result;
 	}
 
+	/**
+	 * The worm sprites, in the order in which the worms were created
+	 */
+	public List<WormSprite> getWormSprites() {
+		return wormSpritesView;
+	}
+
 	public WormSprite getWormSprite(Worm worm) {
-		for (WormSprite sprite : getSpritesOfType(WormSprite.class)) {
+		for (WormSprite sprite : wormSprites) {
 			if (worm != null && worm.equals(sprite.getWorm())) {
 				return sprite;
 			}
@@ -370,6 +561,14 @@ public class PlayGameScreen extends Screen {
 		return null;
 	}
 
+	/**
+	 * Move the camera by the given distance on the screen (in pixels)
+	 */
+	public void panCamera(double dx, double dy) {
+		double pixelsPerMeter = getCamera().getPixelsPerMeter();
+		getCamera().pan(dx / pixelsPerMeter, -dy / pixelsPerMeter);
+	}
+
 	public void move(int nbSteps) {
 		Worm worm = getSelectedWorm();
 
@@ -423,11 +622,19 @@ public class PlayGameScreen extends Screen {
 
 	@Override
 	protected void paintScreen(Graphics2D g) {
-		painter.paint(g);
+		long start = System.nanoTime();
+		if (getFacade() instanceof CachingFacade) {
+			((CachingFacade) getFacade()).startFrame();
+		}
+		layers.paint(g);
+		painter.paintOverlay(g);
+
 		String message = messageDisplay.getMessage();
 		if (message != null) {
 			painter.paintMessage(g, message);
 		}
+		governor.paintFinished(System.nanoTime() - start);
+		gameState.framePainted(System.currentTimeMillis());
 	}
 
 	public void addMessage(String message) {
@@ -1,58 +1,137 @@
 package worms.gui.game;
 
 import java.awt.Color;
-import java.awt.Shape;
+import java.awt.Graphics2D;
+
+import java.util.Map;
+
+import worms.gui.FrameRateGovernor;
+import worms.gui.game.commands.LatencyHistogram;
+import worms.model.CachingFacade;
 
-import worms.gui.GUIUtils;
-import worms.gui.game.sprites.WormSprite;
-import worms.model.ModelException;
 
 public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 
 	private static final int LOCATION_MARKER_SIZE = 4;
 
+	private static final int STATISTICS_MARGIN = 10;
+
+	private static final int STATISTICS_LINE_HEIGHT = 15;
+
 	public PlayGameScreenDebugPainter(PlayGameScreen screen) {
 		super(screen);
 	}
 
 	@Override
-	protected void paintWorm(WormSprite sprite) {
-		super.paintWorm(sprite);
+	public void paintOverlay(Graphics2D g) {
+		super.paintOverlay(g);
+		g.setColor(Color.YELLOW);
+		g.drawString("Visible worms: " + frame.size() + " / "
+				+ (frame.size() + frame.getCulledCount()) + " (full: "
+				+ getLevelOfDetailCount(LevelOfDetail.FULL) + ", dots: "
+				+ getLevelOfDetailCount(LevelOfDetail.DOT) + ", pixels: "
+				+ getLevelOfDetailCount(LevelOfDetail.PIXEL) + ")",
+				STATISTICS_MARGIN, getScreen().getScreenHeight()
+						- STATISTICS_MARGIN - STATISTICS_LINE_HEIGHT);
+		g.drawString("Text layouts avoided: "
+				+ getLabelCache().getLayoutsAvoided() + " / "
+				+ (getLabelCache().getLayoutsAvoided() + getLabelCache()
+						.getLayouts()) + ", shapes stamped: "
+				+ getStampCache().getStampsDrawn() + " (rasterised: "
+				+ getStampCache().getStampsRendered() + ")", STATISTICS_MARGIN,
+				getScreen().getScreenHeight() - STATISTICS_MARGIN - 2
+						* STATISTICS_LINE_HEIGHT);
+		LayeredRenderer layers = getScreen().getLayeredRenderer();
+		g.drawString("Layers redrawn: background "
+				+ layers.getBackgroundPaintCount() + ", worms "
+				+ layers.getWormsPaintCount() + " of "
+				+ layers.getFrameCount() + " frames", STATISTICS_MARGIN,
+				getScreen().getScreenHeight() - STATISTICS_MARGIN - 3
+						* STATISTICS_LINE_HEIGHT);
+		TrajectoryCache trajectories = getTrajectoryCache();
+		g.drawString("Jump trajectories reused: " + trajectories.getReused()
+				+ " / "
+				+ (trajectories.getReused() + trajectories.getComputed()),
+				STATISTICS_MARGIN, getScreen().getScreenHeight()
+						- STATISTICS_MARGIN - 4 * STATISTICS_LINE_HEIGHT);
+		FrameRateGovernor governor = getScreen().getFrameRateGovernor();
+		g.drawString("Framerate: " + governor.getFramerate() + " / "
+				+ governor.getMaximumFramerate() + " fps, painted 1 in "
+				+ governor.getPaintInterval() + " ticks ("
+				+ governor.getSkippedPaints() + " shed), tick "
+				+ Math.round(governor.getAverageTickNanos() / 100000) / 10.0
+				+ " ms, paint "
+				+ Math.round(governor.getAveragePaintNanos() / 100000) / 10.0
+				+ " ms, last decision: " + governor.getLastDecision(),
+				STATISTICS_MARGIN, getScreen().getScreenHeight()
+						- STATISTICS_MARGIN - 5 * STATISTICS_LINE_HEIGHT);
+		int line = 6;
+		for (Map.Entry<String, LatencyHistogram> entry : getState()
+				.getCommandLatencies().entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			g.drawString("Input latency " + entry.getKey() + ": "
+					+ histogram.getCount() + " commands, 50% within "
+					+ histogram.getPercentile(0.5) + " ms, 95% within "
+					+ histogram.getPercentile(0.95) + " ms, maximum "
+					+ histogram.getMaximum() + " ms", STATISTICS_MARGIN,
+					getScreen().getScreenHeight() - STATISTICS_MARGIN - line
+							* STATISTICS_LINE_HEIGHT);
+			line++;
+		}
 
-		if (getState().getSelectedWorm() != sprite.getWorm()) {
-			drawOutline(sprite);
-			drawJumpMarkers(sprite); // also draw for other worms
+		if (getFacade() instanceof CachingFacade) {
+			CachingFacade facade = (CachingFacade) getFacade();
+			g.setColor(Color.YELLOW);
+			g.drawString("Facade calls saved: "
+					+ facade.getSavedCallsLastFrame() + " / "
+					+ (facade.getSavedCallsLastFrame() + facade
+							.getUnderlyingCallsLastFrame()), STATISTICS_MARGIN,
+					getScreen().getScreenHeight() - STATISTICS_MARGIN);
 		}
+	}
 
-		drawDirectionLine(sprite);
+	/**
+	 * Jump markers are drawn for all worms, which needs the facade
+	 */
+	@Override
+	public boolean canPaintInTiles() {
+		return false;
+	}
+
+	@Override
+	protected void paintWorm(int i) {
+		super.paintWorm(i);
+
+		if (!frame.isSelected(i)) {
+			drawOutline(i);
+			drawJumpMarkers(i); // also draw for other worms
+		}
+
+		drawDirectionLine(i);
 
-		drawLocationMarker(sprite);
+		drawLocationMarker(i);
 
 	}
 
 	@Override
-	protected void drawJumpMarkers(WormSprite sprite) {
-		try {
-			double time = getFacade().getJumpTime(sprite.getWorm());
-			double[] prevXY = getFacade().getJumpStep(sprite.getWorm(), 0);
-			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE * 2);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null && prevXY != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					graphics.setColor(JUMP_MARKER_COLOR);
-					graphics.drawLine((int) getScreenX(prevXY[0]),
-							(int) getScreenY(prevXY[1]), (int) jumpX,
-							(int) jumpY);
-					prevXY = xy;
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
+	protected void drawJumpMarkers(int index) {
+		TrajectoryCache.Trajectory trajectory = getTrajectory(index, 2);
+		if (trajectory.size() == 0 || !trajectory.isValid(0)) {
+			return;
+		}
+		int previous = 0;
+		for (int i = 1; i < trajectory.size(); i++) {
+			if (trajectory.isValid(i)) {
+				double jumpX = trajectory.getScreenX(i);
+				double jumpY = trajectory.getScreenY(i);
+				graphics.setColor(JUMP_MARKER_COLOR);
+				graphics.drawLine((int) trajectory.getScreenX(previous),
+						(int) trajectory.getScreenY(previous), (int) jumpX,
+						(int) jumpY);
+				previous = i;
+				drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
+						JUMP_MARKER_COLOR);
 			}
-		} catch (ModelException e) {
-			// cannot jump; draw nothing
 		}
 	}
 
@@ -60,36 +139,33 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 	 * Draw a marker at the current location of the worm (which is not
 	 * necessarily equal to the sprite's location)
 	 */
-	protected void drawLocationMarker(WormSprite worm) {
-		double x = getFacade().getX(worm.getWorm());
-		double y = getFacade().getY(worm.getWorm());
+	protected void drawLocationMarker(int i) {
+		double x = frame.getX(i);
+		double y = frame.getY(i);
 
 		drawCrossMarker(getScreenX(x), getScreenY(y), LOCATION_MARKER_SIZE,
 				Color.YELLOW);
 	}
 
-	protected void drawOutline(WormSprite sprite) {
-		double r = getFacade().getRadius(sprite.getWorm());
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
+	protected void drawOutline(int i) {
+		double r = frame.getRadius(i);
+		double x = frame.getScreenX(i);
+		double y = frame.getScreenY(i);
 
-		graphics.setColor(Color.YELLOW);
-		Shape circle = GUIUtils.circleAt(x, y, GUIUtils.meterToPixels(r));
-		graphics.draw(circle);
+		getStampCache().drawCircle(graphics, x, y, r, Color.YELLOW);
 
 	}
 
-	protected void drawDirectionLine(WormSprite sprite) {
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
-				sprite.getWorm()));
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double direction = getFacade().getOrientation(sprite.getWorm());
+	protected void drawDirectionLine(int i) {
+		double r = frame.getRadius(i);
+		double x = frame.getScreenX(i);
+		double y = frame.getScreenY(i);
+		double direction = frame.getOrientation(i);
 
 		graphics.setColor(Color.YELLOW);
 		graphics.drawLine((int) x, (int) y,
-				(int) (x + r * Math.cos(direction)),
-				(int) (y - r * Math.sin(direction)));
+				(int) (x + r * getTrigonometry().cos(direction)),
+				(int) (y - r * getTrigonometry().sin(direction)));
 	}
 
 }
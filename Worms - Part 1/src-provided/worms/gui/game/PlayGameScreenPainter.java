@@ -3,16 +3,13 @@ package worms.gui.game;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.awt.Shape;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
-import java.awt.geom.RoundRectangle2D;
 
+import worms.gui.GUIConstants;
 import worms.gui.GUIUtils;
 import worms.gui.GameState;
 import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
-import worms.model.ModelException;
+import worms.util.Trigonometry;
 
 public class PlayGameScreenPainter {
 
@@ -47,17 +44,42 @@ public class PlayGameScreenPainter {
 	protected static final Color MESSAGE_BACKGROUND_COLOR = new Color(
 			0x60a7130e, true);
 	protected static final Color MESSAGE_TEXT_COLOR = Color.WHITE;
+	// messages are drawn on a band of their own, so their labels are see-through
+	private static final Color NO_BACKGROUND = new Color(0, true);
 	protected static final Color JUMP_MARKER_COLOR = Color.GRAY;
 
 	protected static final int JUMP_MARKER_SIZE = 1;
 	protected static final double JUMP_MARKER_TIME_DISTANCE = 0.1; // worm-seconds
 	protected static final double DIRECTION_INDICATOR_SIZE = 10;
 
+	protected static final Color BACKGROUND_COLOR = Color.BLACK;
+
+	protected static final Color WORM_DOT_COLOR = new Color(0xffe0a090, true);
+
+	protected static final Font MESSAGE_FONT = new Font(Font.SANS_SERIF,
+			Font.PLAIN, 20);
+
 	protected Graphics2D graphics;
+	protected RenderFrame frame = new RenderFrame();
+	// the frame painted before, kept to see whether anything changed
+	private RenderFrame previousFrame = new RenderFrame();
+	private final DotLayer dots = new DotLayer(WORM_DOT_COLOR);
+	private final LabelCache labels = new LabelCache(
+			GUIConstants.LABEL_CACHE_SIZE);
+	private final TrajectoryCache trajectories = new TrajectoryCache();
+	private final StampCache stamps = new StampCache(
+			GUIConstants.STAMP_CACHE_SIZE, GUIConstants.STAMP_MAXIMUM_SIZE);
+	private TiledRenderer tiledRenderer;
 	private final PlayGameScreen screen;
+	private final Trigonometry trigonometry;
 
 	public PlayGameScreenPainter(PlayGameScreen screen) {
 		this.screen = screen;
+		if (screen.getGUI().getOptions().exactTrigonometry) {
+			this.trigonometry = Trigonometry.EXACT;
+		} else {
+			this.trigonometry = Trigonometry.TABLE;
+		}
 	}
 
 	public PlayGameScreen getScreen() {
@@ -68,23 +90,194 @@ public class PlayGameScreenPainter {
 		return screen.getGameState();
 	}
 
+	/**
+	 * The sines and cosines to use for drawing
+	 */
+	protected Trigonometry getTrigonometry() {
+		return trigonometry;
+	}
+
 	protected IFacade getFacade() {
 		return getState().getFacade();
 	}
 
-	public void paint(Graphics2D g) {
-		this.graphics = g;
+	/**
+	 * Paint what is behind the worms. That only depends on the part of the
+	 * world that is shown, so it is painted again only when the camera moves.
+	 */
+	public void paintBackground(Graphics2D g, int width, int height) {
+		g.setColor(BACKGROUND_COLOR);
+		g.fillRect(0, 0, width, height);
+	}
+
+	/**
+	 * Copy the state of the worms for the next frame from the facade
+	 * 
+	 * @return Whether the worms in the new frame look different from those in
+	 *         the previous frame
+	 */
+	public boolean extractFrame() {
+		RenderFrame extracted = previousFrame;
+		extracted.extract(getFacade(), getScreen().getWormSprites(),
+				getState().getSelectedWorm(), getScreen());
+		previousFrame = frame;
+		frame = extracted;
+		return !frame.looksLike(previousFrame);
+	}
+
+	/**
+	 * Paint the worms of the frame that was extracted last, with the selected
+	 * worm on top
+	 */
+	public void paintWorms(Graphics2D g) {
+		labels.startFrame();
+		stamps.startFrame();
+		trajectories.startFrame();
+		if (tiledRenderer != null) {
+			tiledRenderer.paint(g, frame);
+		} else {
+			paintTile(g, frame, 0, 0, getScreen().getScreenWidth(),
+					getScreen().getScreenHeight());
+		}
 
-		for (WormSprite sprite : getScreen().getSpritesOfType(WormSprite.class)) {
-			if (sprite.getWorm() == getState().getSelectedWorm()) {
-				drawSelection(sprite);
+		// drawn last, on top of the others
+		this.graphics = g;
+		for (int i = 0; i < frame.size(); i++) {
+			if (frame.isSelected(i)) {
+				drawSelection(i);
+				paintWorm(i);
 			}
-			paintWorm(sprite);
 		}
+		this.graphics = null;
+	}
+
+	/**
+	 * Paint what changes on every frame, on top of the worms
+	 */
+	public void paintOverlay(Graphics2D g) {
+	}
+
+	/**
+	 * Whether this painter can paint parts of the screen on other threads than
+	 * the event dispatch thread, i.e., whether it draws all worms that are not
+	 * selected without using the facade
+	 */
+	public boolean canPaintInTiles() {
+		return true;
+	}
+
+	/**
+	 * The pre-rendered name labels of this painter
+	 */
+	public LabelCache getLabelCache() {
+		return labels;
+	}
+
+	/**
+	 * Forget the pre-rendered labels with the given text, of this painter and
+	 * of the painters of its tiles
+	 */
+	public void invalidateLabels(String text) {
+		labels.invalidate(text);
+		if (tiledRenderer != null) {
+			tiledRenderer.invalidateLabels(text);
+		}
+	}
+
+	/**
+	 * The pre-rasterised selection circles, action bars and direction
+	 * indicators of this painter
+	 */
+	public StampCache getStampCache() {
+		return stamps;
+	}
+
+	/**
+	 * The jump trajectories of the worms, as drawn by this painter
+	 */
+	public TrajectoryCache getTrajectoryCache() {
+		return trajectories;
+	}
+
+	/**
+	 * Paint the screen in tiles, with the given renderer, or on the event
+	 * dispatch thread alone if null
+	 */
+	public void setTiledRenderer(TiledRenderer tiledRenderer) {
+		this.tiledRenderer = tiledRenderer;
+	}
+
+	/**
+	 * Stop the threads of the tiled renderer, if any; the screen is painted on
+	 * the event dispatch thread alone afterwards
+	 */
+	public void dispose() {
+		if (tiledRenderer != null) {
+			tiledRenderer.dispose();
+			tiledRenderer = null;
+		}
+	}
 
+	/**
+	 * Paint the worms of the given frame, except the selected worm, that
+	 * overlap the given area of the screen.
+	 * 
+	 * Only the frame is used, not the facade, unless this painter cannot paint
+	 * in tiles.
+	 */
+	void paintTile(Graphics2D g, RenderFrame frame, int x, int y,
+			int width, int height) {
+		this.graphics = g;
+		this.frame = frame;
+		dots.clear(x, y, width, height);
+		for (int i = 0; i < frame.size(); i++) {
+			if (frame.isSelected(i)) {
+				continue;
+			}
+			LevelOfDetail level = frame.getLevelOfDetail(i);
+			double extent;
+			switch (level) {
+			case FULL:
+				// names and action bars reach beyond the worm
+				extent = frame.getRadius(i) + GUIConstants.CULLING_MARGIN;
+				break;
+			case DOT:
+				extent = GUIConstants.LOD_DOT_RADIUS + 1;
+				break;
+			default:
+				extent = 1;
+			}
+			double screenX = frame.getScreenX(i);
+			double screenY = frame.getScreenY(i);
+			if (screenX + extent < x || screenX - extent > x + width
+					|| screenY + extent < y || screenY - extent > y + height) {
+				continue;
+			}
+			switch (level) {
+			case FULL:
+				paintWorm(i);
+				break;
+			case DOT:
+				// in crowded views, large worms are drawn as small dots too
+				dots.stampDot(screenX, screenY, Math.min(frame.getRadius(i),
+						GUIConstants.LOD_DOT_RADIUS));
+				break;
+			case PIXEL:
+				dots.stampPixel(screenX, screenY);
+				break;
+			}
+		}
+		dots.drawTo(graphics);
 		this.graphics = null;
 	}
 
+	/**
+	 * Number of worms drawn at the given level of detail in the last frame
+	 */
+	public int getLevelOfDetailCount(LevelOfDetail level) {
+		return frame.getLevelOfDetailCount(level);
+	}
+
 	protected double getScreenX(double x) {
 		return getScreen().getScreenX(x);
 	}
@@ -93,140 +286,116 @@ public class PlayGameScreenPainter {
 		return getScreen().getScreenY(y);
 	}
 
-	protected void paintWorm(WormSprite sprite) {
+	/**
+	 * Paint the worm at the given index of the current frame
+	 */
+	protected void paintWorm(int i) {
 
-		sprite.draw(graphics);
+		frame.getSprite(i).draw(graphics, frame.getScreenX(i),
+				frame.getScreenY(i), getScreen().getCamera().getZoom());
 
-		drawName(sprite);
+		drawName(i);
 
-		drawActionBar(sprite);
+		drawActionBar(i);
 
-		if (getState().getSelectedWorm() == sprite.getWorm()) {
-			drawDirectionIndicator(sprite);
-			drawJumpMarkers(sprite);
+		if (frame.isSelected(i)) {
+			drawDirectionIndicator(i);
+			drawJumpMarkers(i);
 		}
 	}
 
-	protected void drawName(WormSprite sprite) {
-		final double radius = GUIUtils.meterToPixels(getFacade().getRadius(
-				sprite.getWorm()));
-		String name = getFacade().getName(sprite.getWorm());
+	protected void drawName(int i) {
+		final double radius = frame.getRadius(i);
+		String name = frame.getName(i);
 
 		if (name == null) {
 			name = "(null)";
 		}
 
-		Rectangle2D bounds = graphics.getFontMetrics().getStringBounds(name,
-				graphics);
-		final double stringWidth = bounds.getWidth();
-		final double stringHeight = bounds.getHeight();
-
-		final double x = sprite.getCenterX() - stringWidth / 2;
-		final double y = sprite.getCenterY() - radius - TEXT_BAR_V_OFFSET;
+		LabelCache.Label label = labels.get(graphics, name, NAME_BAR_TEXT,
+				NAME_BAR_BACKGROUND, TEXT_BAR_H_MARGIN, TEXT_BAR_V_MARGIN);
 
-		RoundRectangle2D nameBarFill = new RoundRectangle2D.Double(x
-				- TEXT_BAR_H_MARGIN, y - stringHeight - TEXT_BAR_V_MARGIN,
-				stringWidth + 2 * TEXT_BAR_H_MARGIN, stringHeight + 2
-						* TEXT_BAR_V_MARGIN, 5, 5);
-		graphics.setColor(NAME_BAR_BACKGROUND);
-		graphics.fill(nameBarFill);
+		final double x = frame.getScreenX(i) - label.getTextWidth() / 2;
+		final double y = frame.getScreenY(i) - radius - TEXT_BAR_V_OFFSET;
 
-		graphics.setColor(NAME_BAR_TEXT);
-
-		graphics.drawString(name, (float) x, (float) (y));
+		label.draw(graphics, x, y);
 	}
 
-	protected void drawActionBar(WormSprite sprite) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double radius = GUIUtils.meterToPixels(getFacade().getRadius(
-				sprite.getWorm()));
-
-		double actionPoints = getFacade().getActionPoints(sprite.getWorm());
-		double maxActionPoints = getFacade().getMaxActionPoints(
-				sprite.getWorm());
+	protected void drawActionBar(int i) {
+		double x = frame.getScreenX(i);
+		double y = frame.getScreenY(i);
+		double radius = frame.getRadius(i);
 
-		RoundRectangle2D actionBarFill = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + radius, actionPoints
-				* ACTION_BAR_WIDTH / maxActionPoints, ACTION_BAR_HEIGHT, 5, 5);
-		graphics.setColor(ACTION_POINTS_COLOR);
-		graphics.fill(actionBarFill);
+		double actionPoints = frame.getActionPoints(i);
+		double maxActionPoints = frame.getMaxActionPoints(i);
 
-		RoundRectangle2D actionBar = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + radius, ACTION_BAR_WIDTH,
-				ACTION_BAR_HEIGHT, 5, 5);
-		graphics.setColor(BAR_OUTLINE_COLOR);
-		graphics.draw(actionBar);
+		stamps.drawBar(graphics, x - ACTION_BAR_WIDTH / 2, y + radius,
+				ACTION_BAR_WIDTH, ACTION_BAR_HEIGHT, actionPoints
+						/ maxActionPoints, ACTION_POINTS_COLOR,
+				BAR_OUTLINE_COLOR);
 	}
 
-	protected void drawSelection(WormSprite sprite) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double r = getFacade().getRadius(sprite.getWorm());
+	protected void drawSelection(int i) {
+		double x = frame.getScreenX(i);
+		double y = frame.getScreenY(i);
 
-		graphics.setColor(SELECTION_FILL_COLOR);
-
-		Shape circle = GUIUtils.circleAt(x, y, GUIUtils.meterToPixels(r));
-		graphics.fill(circle);
+		stamps.drawDisc(graphics, x, y, frame.getRadius(i),
+				SELECTION_FILL_COLOR);
 	}
 
-	protected void drawDirectionIndicator(WormSprite sprite) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
-				sprite.getWorm()));
+	protected void drawDirectionIndicator(int i) {
+		double x = frame.getScreenX(i);
+		double y = frame.getScreenY(i);
+		double r = frame.getRadius(i);
 		r += DIRECTION_INDICATOR_SIZE / 2;
-		double direction = GUIUtils.restrictDirection(getFacade()
-				.getOrientation(sprite.getWorm()));
-
-		graphics.setColor(DIRECTION_MARKER_COLOR);
+		double direction = GUIUtils.restrictDirection(frame.getOrientation(i));
 
-		Shape directionIndicator = new Ellipse2D.Double(x + r
-				* Math.cos(direction) - DIRECTION_INDICATOR_SIZE / 2, y - r
-				* Math.sin(direction) - DIRECTION_INDICATOR_SIZE / 2,
-				DIRECTION_INDICATOR_SIZE, DIRECTION_INDICATOR_SIZE);
-		graphics.fill(directionIndicator);
+		stamps.drawDisc(graphics, x + r * trigonometry.cos(direction), y - r
+				* trigonometry.sin(direction), DIRECTION_INDICATOR_SIZE / 2,
+				DIRECTION_MARKER_COLOR);
 	}
 
 	void drawTurnAngleIndicator(Graphics2D graphics, WormSprite sprite,
 			double angle) {
-		double x = sprite.getCenterX();
-		double y = sprite.getCenterY();
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
-				sprite.getWorm()));
+		double x = getScreenX(sprite.getCenterX());
+		double y = getScreenY(sprite.getCenterY());
+		double r = getScreen().getScreenDistance(
+				getFacade().getRadius(sprite.getWorm()));
+
 		r += DIRECTION_INDICATOR_SIZE / 2;
 		double direction = GUIUtils.restrictDirection(getFacade()
 				.getOrientation(sprite.getWorm()) + angle);
 
+		Color color;
 		if (getFacade().canTurn(sprite.getWorm(), angle)) {
-			graphics.setColor(TURN_ANGLE_MARKER_COLOR);
+			color = TURN_ANGLE_MARKER_COLOR;
 		} else {
-			graphics.setColor(INVALID_TURN_ANGLE_MARKER_COLOR);
+			color = INVALID_TURN_ANGLE_MARKER_COLOR;
 		}
 
-		Shape directionIndicator = new Ellipse2D.Double(x + r
-				* Math.cos(direction) - DIRECTION_INDICATOR_SIZE / 2, y - r
-				* Math.sin(direction) - DIRECTION_INDICATOR_SIZE / 2,
-				DIRECTION_INDICATOR_SIZE, DIRECTION_INDICATOR_SIZE);
-		graphics.fill(directionIndicator);
-	}
-
-	protected void drawJumpMarkers(WormSprite sprite) {
-		try {
-			double time = getFacade().getJumpTime(sprite.getWorm());
-			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
+		stamps.drawDisc(graphics, x + r * trigonometry.cos(direction), y - r
+				* trigonometry.sin(direction), DIRECTION_INDICATOR_SIZE / 2,
+				color);
+	}
+
+	/**
+	 * The trajectory of the worm at the given index of the current frame, with
+	 * the given number of points per JUMP_MARKER_TIME_DISTANCE
+	 */
+	protected TrajectoryCache.Trajectory getTrajectory(int index,
+			double pointsPerMarker) {
+		return trajectories.get(getFacade(), frame.getWorm(index),
+				getScreen(), JUMP_MARKER_TIME_DISTANCE, pointsPerMarker);
+	}
+
+	protected void drawJumpMarkers(int index) {
+		TrajectoryCache.Trajectory trajectory = getTrajectory(index, 1);
+		for (int i = 1; i < trajectory.size(); i++) {
+			if (trajectory.isValid(i)) {
+				drawCrossMarker(trajectory.getScreenX(i),
+						trajectory.getScreenY(i), JUMP_MARKER_SIZE,
+						JUMP_MARKER_COLOR);
 			}
-		} catch (ModelException e) {
-			// cannot jump; draw nothing
 		}
 	}
 
@@ -239,18 +408,28 @@ public class PlayGameScreenPainter {
 	void paintNameEntry(Graphics2D g, String enteredName) {
 		g.setColor(RENAME_BACKGROUND_COLOR);
 		g.fillRect(0, 0, getScreen().getScreenWidth(), 120);
-		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
-		g.setColor(RENAME_TEXT_COLOR);
-		GUIUtils.drawCenteredString(g, "Enter new name for worm: "
-				+ enteredName + "\u2502", getScreen().getScreenWidth(), 100);
+		g.setFont(MESSAGE_FONT);
+		drawCenteredLabel(g, "Enter new name for worm: " + enteredName
+				+ "\u2502", RENAME_TEXT_COLOR, 100);
 	}
 
 	void paintMessage(Graphics2D g, String message) {
 		g.setColor(MESSAGE_BACKGROUND_COLOR);
 		g.fillRect(0, 0, getScreen().getScreenWidth(), 120);
-		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
-		g.setColor(MESSAGE_TEXT_COLOR);
-		GUIUtils.drawCenteredString(g, message, getScreen().getScreenWidth(),
-				100);
+		g.setFont(MESSAGE_FONT);
+		drawCenteredLabel(g, message, MESSAGE_TEXT_COLOR, 100);
+	}
+
+	/**
+	 * Draw the given text, from the label cache, horizontally centered on the
+	 * screen with its baseline at the given height
+	 */
+	private void drawCenteredLabel(Graphics2D g, String text, Color color,
+			double y) {
+		// the label keeps room for the descent below the baseline in its margin
+		LabelCache.Label label = labels.get(g, text, color, NO_BACKGROUND, 0,
+				g.getFontMetrics().getDescent());
+		label.draw(g, (getScreen().getScreenWidth() - label.getTextWidth()) / 2,
+				y);
 	}
 }
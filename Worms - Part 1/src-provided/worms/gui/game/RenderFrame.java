@@ -0,0 +1,242 @@
+package worms.gui.game;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import worms.gui.GUIConstants;
+import worms.gui.Screen;
+import worms.gui.game.sprites.WormSprite;
+import worms.model.IFacade;
+import worms.model.Worm;
+
+/**
+ * The drawable state of all visible worms, copied from the facade once per
+ * frame. Only the screen position, radius and level of detail are known for
+ * every worm; the other values only for the worms drawn in full detail.
+ * 
+ * Worms of which the sprite is not on the screen are left out before the
+ * facade is asked anything about them, so that the cost of a frame depends on
+ * the number of visible worms rather than on the size of the world.
+ * 
+ * The arrays are kept from frame to frame and only grow, so that extracting
+ * a frame does not allocate anything once the number of worms is stable.
+ */
+public final class RenderFrame {
+
+	private int size;
+	private int culled;
+
+	private WormSprite[] sprites = new WormSprite[0];
+	private Worm[] worms = new Worm[0];
+	private double[] x = new double[0];
+	private double[] y = new double[0];
+	private double[] screenX = new double[0];
+	private double[] screenY = new double[0];
+	private double[] radius = new double[0];
+	private double[] angle = new double[0];
+	private int[] actionPoints = new int[0];
+	private int[] maxActionPoints = new int[0];
+	private String[] names = new String[0];
+	private boolean[] selected = new boolean[0];
+	private LevelOfDetail[] levels = new LevelOfDetail[0];
+	private final int[] levelCounts = new int[LevelOfDetail.values().length];
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= sprites.length) {
+			return;
+		}
+		capacity = Math.max(capacity, 2 * sprites.length);
+		sprites = new WormSprite[capacity];
+		worms = new Worm[capacity];
+		x = new double[capacity];
+		y = new double[capacity];
+		screenX = new double[capacity];
+		screenY = new double[capacity];
+		radius = new double[capacity];
+		angle = new double[capacity];
+		actionPoints = new int[capacity];
+		maxActionPoints = new int[capacity];
+		names = new String[capacity];
+		selected = new boolean[capacity];
+		levels = new LevelOfDetail[capacity];
+	}
+
+	/**
+	 * Copy the state of the worms of the given sprites that are visible on the
+	 * given screen.
+	 * 
+	 * The position, size and level of detail are taken from the sprites; the
+	 * facade is only asked about the worms that are drawn in full detail, for
+	 * every value exactly once.
+	 */
+	public void extract(IFacade facade, Collection<WormSprite> wormSprites,
+			Worm selectedWorm, Screen screen) {
+		ensureCapacity(wormSprites.size());
+		int i = 0;
+		for (WormSprite sprite : wormSprites) {
+			// a large worm, or any worm when zoomed in, reaches far beyond its
+			// center
+			double spriteRadius = screen.getScreenDistance(sprite.getRadius());
+			if (!screen.isVisible(sprite.getCenterX(), sprite.getCenterY(),
+					spriteRadius + GUIConstants.CULLING_MARGIN)) {
+				continue;
+			}
+			sprites[i] = sprite;
+			screenX[i] = screen.getScreenX(sprite.getCenterX());
+			screenY[i] = screen.getScreenY(sprite.getCenterY());
+			radius[i] = spriteRadius;
+			i++;
+		}
+		// do not keep worms of earlier frames alive
+		for (int j = i; j < size; j++) {
+			sprites[j] = null;
+			worms[j] = null;
+			names[j] = null;
+		}
+		size = i;
+		culled = wormSprites.size() - i;
+
+		Arrays.fill(levelCounts, 0);
+		for (i = 0; i < size; i++) {
+			Worm worm = sprites[i].getWorm();
+			worms[i] = worm;
+			selected[i] = worm == selectedWorm;
+			LevelOfDetail level = selected[i] ? LevelOfDetail.FULL
+					: LevelOfDetail.choose(radius[i], size);
+			levels[i] = level;
+			levelCounts[level.ordinal()]++;
+			if (level == LevelOfDetail.FULL) {
+				x[i] = facade.getX(worm);
+				y[i] = facade.getY(worm);
+				radius[i] = screen.getScreenDistance(facade.getRadius(worm));
+				angle[i] = facade.getOrientation(worm);
+				actionPoints[i] = facade.getActionPoints(worm);
+				maxActionPoints[i] = facade.getMaxActionPoints(worm);
+				names[i] = facade.getName(worm);
+			} else {
+				names[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Whether this frame would be drawn exactly like the given frame: the
+	 * same worms, in the same order, at the same place on the screen and with
+	 * the same values for everything that is drawn at their level of detail
+	 */
+	public boolean looksLike(RenderFrame other) {
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (sprites[i] != other.sprites[i]
+					|| screenX[i] != other.screenX[i]
+					|| screenY[i] != other.screenY[i]
+					|| radius[i] != other.radius[i]
+					|| levels[i] != other.levels[i]
+					|| selected[i] != other.selected[i]) {
+				return false;
+			}
+			if (levels[i] != LevelOfDetail.FULL) {
+				continue;
+			}
+			if (x[i] != other.x[i] || y[i] != other.y[i]
+					|| angle[i] != other.angle[i]
+					|| actionPoints[i] != other.actionPoints[i]
+					|| maxActionPoints[i] != other.maxActionPoints[i]) {
+				return false;
+			}
+			if (names[i] == null ? other.names[i] != null : !names[i]
+					.equals(other.names[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Number of worms left out of the current frame because they are not
+	 * visible
+	 */
+	public int getCulledCount() {
+		return culled;
+	}
+
+	public WormSprite getSprite(int i) {
+		return sprites[i];
+	}
+
+	public Worm getWorm(int i) {
+		return worms[i];
+	}
+
+	/**
+	 * Position of the center of the sprite on the screen (in pixels)
+	 */
+	public double getScreenX(int i) {
+		return screenX[i];
+	}
+
+	/**
+	 * Position of the center of the sprite on the screen (in pixels)
+	 */
+	public double getScreenY(int i) {
+		return screenY[i];
+	}
+
+	/**
+	 * Position of the worm (in worm-meter)
+	 */
+	public double getX(int i) {
+		return x[i];
+	}
+
+	/**
+	 * Position of the worm (in worm-meter)
+	 */
+	public double getY(int i) {
+		return y[i];
+	}
+
+	/**
+	 * Radius of the worm (in pixels)
+	 */
+	public double getRadius(int i) {
+		return radius[i];
+	}
+
+	public double getOrientation(int i) {
+		return angle[i];
+	}
+
+	public int getActionPoints(int i) {
+		return actionPoints[i];
+	}
+
+	public int getMaxActionPoints(int i) {
+		return maxActionPoints[i];
+	}
+
+	public String getName(int i) {
+		return names[i];
+	}
+
+	public boolean isSelected(int i) {
+		return selected[i];
+	}
+
+	public LevelOfDetail getLevelOfDetail(int i) {
+		return levels[i];
+	}
+
+	/**
+	 * Number of worms in the current frame at the given level of detail
+	 */
+	public int getLevelOfDetailCount(LevelOfDetail level) {
+		return levelCounts[level.ordinal()];
+	}
+}
@@ -0,0 +1,275 @@
+package worms.gui.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import worms.gui.GUIUtils;
+
+/**
+ * Small antialiased shapes (discs, circles and action bars) rasterised once
+ * into translucent images, so that drawing the same shape again is a single image
+ * copy instead of rasterising it.
+ * 
+ * Sizes are rounded to a quarter of a pixel, and so is the position of the
+ * shape within its pixel: every shape is rendered for each of the 16
+ * possible quarter-pixel offsets it is drawn at. Every edge of the result
+ * therefore lies within a quarter of a pixel of where drawing the shape
+ * itself would put it.
+ * Stamps are rasterised with the hints of GUIUtils.setRenderingHints, which
+ * the screen is drawn with too: without stroke normalisation, since
+ * normalisation snaps a shape to the pixel grid depending on where on the
+ * screen it is.
+ * 
+ * Shapes larger than the maximum size are drawn directly. When there are
+ * more stamps than the capacity, the least recently used one is forgotten.
+ * 
+ * A stamp cache must only be used by one thread.
+ */
+public class StampCache {
+
+	/**
+	 * Number of steps per pixel in which sizes and positions are rounded
+	 */
+	static final int STEPS = 4;
+
+	private static final int DISC = 0;
+	private static final int BAR = 1;
+	private static final int CIRCLE = 2;
+
+	// room for the antialiased edge and a stroked outline
+	private static final int PADDING = 2;
+
+	private static final double BAR_ARC = 5;
+
+	private static final class Key {
+		private int kind;
+		private int width;
+		private int height;
+		private int fraction;
+		private int offsetX;
+		private int offsetY;
+		private Color fill;
+		private Color outline;
+
+		private Key set(int kind, int width, int height, int fraction,
+				int offsetX, int offsetY, Color fill, Color outline) {
+			this.kind = kind;
+			this.width = width;
+			this.height = height;
+			this.fraction = fraction;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+			this.fill = fill;
+			this.outline = outline;
+			return this;
+		}
+
+		private Key copy() {
+			return new Key().set(kind, width, height, fraction, offsetX,
+					offsetY, fill, outline);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return kind == other.kind && width == other.width
+					&& height == other.height && fraction == other.fraction
+					&& offsetX == other.offsetX && offsetY == other.offsetY
+					&& fill.equals(other.fill)
+					&& (outline == null ? other.outline == null : outline
+							.equals(other.outline));
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = kind;
+			hash = hash * 31 + width;
+			hash = hash * 31 + height;
+			hash = hash * 31 + fraction;
+			hash = hash * 31 + offsetX * STEPS + offsetY;
+			hash = hash * 31 + fill.hashCode();
+			return hash * 31 + (outline == null ? 0 : outline.hashCode());
+		}
+	}
+
+	private final int capacity;
+
+	private final int maximumSize;
+
+	private final Map<Key, BufferedImage> stamps;
+
+	// reused for every lookup, so that finding a stamp does not allocate
+	private final Key lookup = new Key();
+
+	private int stampsDrawn;
+	private int stampsRendered;
+
+	/**
+	 * @param capacity
+	 *            The number of stamps to keep
+	 * @param maximumSize
+	 *            The largest width or height, in pixels, of a shape that is
+	 *            drawn from a stamp
+	 */
+	@SuppressWarnings("serial")
+	public StampCache(final int capacity, int maximumSize) {
+		this.capacity = capacity;
+		this.maximumSize = maximumSize;
+		this.stamps = new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Key, BufferedImage> eldest) {
+				return size() > StampCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Fill a disc with the given center and radius
+	 */
+	public void drawDisc(Graphics2D g, double x, double y, double radius,
+			Color color) {
+		int size = quantize(2 * radius);
+		if (size > maximumSize * STEPS) {
+			g.setColor(color);
+			g.fill(GUIUtils.circleAt(x, y, radius));
+			return;
+		}
+		double left = x - radius;
+		double top = y - radius;
+		draw(g, left, top, DISC, size, size, 0, color, null);
+	}
+
+	/**
+	 * Draw the outline, one pixel wide, of a circle with the given center and
+	 * radius
+	 */
+	public void drawCircle(Graphics2D g, double x, double y, double radius,
+			Color color) {
+		int size = quantize(2 * radius);
+		if (size > maximumSize * STEPS) {
+			g.setColor(color);
+			g.draw(GUIUtils.circleAt(x, y, radius));
+			return;
+		}
+		draw(g, x - radius, y - radius, CIRCLE, size, size, 0, color, null);
+	}
+
+	/**
+	 * Draw a bar with rounded corners and the given top left corner, filled
+	 * for the given fraction (between 0 and 1) of its width, and outlined
+	 */
+	public void drawBar(Graphics2D g, double x, double y, double width,
+			double height, double fraction, Color fill, Color outline) {
+		if (width > maximumSize || height > maximumSize) {
+			g.setColor(fill);
+			g.fill(createBar(x, y, fraction * width, height));
+			g.setColor(outline);
+			g.draw(createBar(x, y, width, height));
+			return;
+		}
+		draw(g, x, y, BAR, quantize(width), quantize(height),
+				quantize(fraction * width), fill, outline);
+	}
+
+	private void draw(Graphics2D g, double x, double y, int kind, int width,
+			int height, int fraction, Color fill, Color outline) {
+		int pixelX = (int) Math.floor(x);
+		int pixelY = (int) Math.floor(y);
+		int offsetX = quantize(x - pixelX);
+		int offsetY = quantize(y - pixelY);
+		if (offsetX == STEPS) {
+			pixelX++;
+			offsetX = 0;
+		}
+		if (offsetY == STEPS) {
+			pixelY++;
+			offsetY = 0;
+		}
+
+		BufferedImage stamp = stamps.get(lookup.set(kind, width, height,
+				fraction, offsetX, offsetY, fill, outline));
+		if (stamp == null) {
+			stamp = render(g, lookup);
+			stamps.put(lookup.copy(), stamp);
+			stampsRendered++;
+		}
+		lookup.set(0, 0, 0, 0, 0, 0, null, null);
+		g.drawImage(stamp, pixelX - PADDING, pixelY - PADDING, null);
+		stampsDrawn++;
+	}
+
+	private BufferedImage render(Graphics2D g, Key key) {
+		double left = PADDING + (double) key.offsetX / STEPS;
+		double top = PADDING + (double) key.offsetY / STEPS;
+		double width = (double) key.width / STEPS;
+		double height = (double) key.height / STEPS;
+
+		BufferedImage image = GUIUtils.createTranslucentImage(
+				(int) Math.ceil(left + width) + PADDING,
+				(int) Math.ceil(top + height) + PADDING);
+		Graphics2D stampGraphics = image.createGraphics();
+		stampGraphics.setRenderingHints(g.getRenderingHints());
+		GUIUtils.setRenderingHints(stampGraphics);
+		stampGraphics.setStroke(g.getStroke());
+		stampGraphics.setColor(key.fill);
+		if (key.kind == DISC) {
+			stampGraphics.fill(GUIUtils.circleAt(left + width / 2, top
+					+ height / 2, width / 2));
+		} else if (key.kind == CIRCLE) {
+			stampGraphics.draw(GUIUtils.circleAt(left + width / 2, top
+					+ height / 2, width / 2));
+		} else {
+			stampGraphics.fill(createBar(left, top, (double) key.fraction
+					/ STEPS, height));
+			stampGraphics.setColor(key.outline);
+			stampGraphics.draw(createBar(left, top, width, height));
+		}
+		stampGraphics.dispose();
+		return image;
+	}
+
+	private static Shape createBar(double x, double y, double width,
+			double height) {
+		return new RoundRectangle2D.Double(x, y, width, height, BAR_ARC,
+				BAR_ARC);
+	}
+
+	private static int quantize(double pixels) {
+		return (int) Math.round(pixels * STEPS);
+	}
+
+	public int size() {
+		return stamps.size();
+	}
+
+	/**
+	 * Start counting the stamps of a new frame
+	 */
+	public void startFrame() {
+		stampsDrawn = 0;
+		stampsRendered = 0;
+	}
+
+	/**
+	 * Number of shapes drawn from a stamp since the frame started
+	 */
+	public int getStampsDrawn() {
+		return stampsDrawn;
+	}
+
+	/**
+	 * Number of stamps that had to be rasterised since the frame started
+	 */
+	public int getStampsRendered() {
+		return stampsRendered;
+	}
+}
@@ -0,0 +1,159 @@
+package worms.gui.game;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import worms.gui.GUIConstants;
+
+/**
+ * Paints the worms of a frame in tiles of the screen, each tile into its own
+ * image with its own painter, on a pool of threads. The event dispatch thread
+ * only waits for the tiles and draws the finished images onto the screen.
+ * 
+ * The tiles only read the frame, which is extracted from the facade on the
+ * event dispatch thread before, so the facade is never used from the pool.
+ */
+public class TiledRenderer {
+
+	private class Tile implements Callable<Void> {
+		private final int x;
+		private final int y;
+		private final int width;
+		private final int height;
+		private final BufferedImage image;
+		private final PlayGameScreenPainter painter;
+
+		private RenderFrame frame;
+		private RenderingHints hints;
+		private Font font;
+
+		Tile(int x, int y, int width, int height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.image = new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_ARGB_PRE);
+			this.painter = screen.createPainter();
+		}
+
+		@Override
+		public Void call() {
+			Graphics2D g = image.createGraphics();
+			try {
+				Composite composite = g.getComposite();
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(0, 0, width, height);
+				g.setComposite(composite);
+				g.setRenderingHints(hints);
+				g.setFont(font);
+				g.translate(-x, -y);
+				painter.paintTile(g, frame, x, y, width, height);
+			} finally {
+				g.dispose();
+			}
+			return null;
+		}
+	}
+
+	private final PlayGameScreen screen;
+	private final ExecutorService executor;
+	private final int threads;
+
+	private final List<Tile> tiles = new ArrayList<Tile>();
+	private int screenWidth;
+	private int screenHeight;
+
+	public TiledRenderer(PlayGameScreen screen, int threads) {
+		this.screen = screen;
+		this.threads = threads;
+		this.executor = Executors.newFixedThreadPool(threads,
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "Tile renderer");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Stop the threads that paint the tiles, once they have finished; the
+	 * renderer must not paint anymore afterwards
+	 */
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	private void layoutTiles(int width, int height) {
+		if (width == screenWidth && height == screenHeight) {
+			return;
+		}
+		screenWidth = width;
+		screenHeight = height;
+		tiles.clear();
+		int size = GUIConstants.RENDER_TILE_SIZE;
+		for (int y = 0; y < height; y += size) {
+			for (int x = 0; x < width; x += size) {
+				tiles.add(new Tile(x, y, Math.min(size, width - x), Math.min(
+						size, height - y)));
+			}
+		}
+	}
+
+	/**
+	 * Forget the pre-rendered labels with the given text in the painters of
+	 * all tiles; only to be called on the event dispatch thread, which is
+	 * when no tile is being painted
+	 */
+	public void invalidateLabels(String text) {
+		for (Tile tile : tiles) {
+			tile.painter.getLabelCache().invalidate(text);
+		}
+	}
+
+	/**
+	 * Paint all worms of the given frame, except the selected one, onto the
+	 * given graphics
+	 */
+	public void paint(Graphics2D g, RenderFrame frame) {
+		layoutTiles(screen.getScreenWidth(), screen.getScreenHeight());
+		RenderingHints hints = g.getRenderingHints();
+		for (Tile tile : tiles) {
+			tile.frame = frame;
+			tile.hints = hints;
+			tile.font = g.getFont();
+		}
+		try {
+			for (Future<Void> result : executor.invokeAll(tiles)) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+		for (Tile tile : tiles) {
+			tile.frame = null;
+			g.drawImage(tile.image, tile.x, tile.y, null);
+		}
+	}
+}
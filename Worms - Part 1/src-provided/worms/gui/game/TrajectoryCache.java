@@ -0,0 +1,175 @@
+package worms.gui.game;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import worms.gui.Screen;
+import worms.model.IFacade;
+import worms.model.ModelException;
+import worms.model.Worm;
+
+/**
+ * The jump trajectories of worms, as points on the screen, kept until the
+ * worm changes (its version), the camera moves or the screen changes size.
+ * 
+ * A trajectory only depends on the state of the worm, so for a worm that
+ * stands still the facade is asked once, instead of on every frame for every
+ * point. The trajectories of worms that were not asked for during a frame
+ * are dropped when the next frame starts.
+ * 
+ * A trajectory cache must only be used by one thread.
+ */
+public class TrajectoryCache {
+
+	/**
+	 * The points of a jump, at equal time intervals from the start (point 0)
+	 * to the landing; a point is not valid if the facade had no position for
+	 * it
+	 */
+	public static final class Trajectory {
+		private long frame;
+		private int wormVersion;
+		private int cameraVersion;
+		private int screenWidth;
+		private int screenHeight;
+		private double markersPerInterval;
+
+		private int size;
+		private double[] x = new double[0];
+		private double[] y = new double[0];
+		private boolean[] valid = new boolean[0];
+
+		private boolean isFor(Worm worm, Screen screen,
+				double markersPerInterval) {
+			return wormVersion == worm.getVersion()
+					&& cameraVersion == screen.getCamera().getVersion()
+					&& screenWidth == screen.getScreenWidth()
+					&& screenHeight == screen.getScreenHeight()
+					&& this.markersPerInterval == markersPerInterval;
+		}
+
+		private void compute(IFacade facade, Worm worm, Screen screen,
+				double interval, double markersPerInterval) {
+			this.wormVersion = worm.getVersion();
+			this.cameraVersion = screen.getCamera().getVersion();
+			this.screenWidth = screen.getScreenWidth();
+			this.screenHeight = screen.getScreenHeight();
+			this.markersPerInterval = markersPerInterval;
+
+			size = 0;
+			try {
+				double time = facade.getJumpTime(worm);
+				if (!(time >= 0)) {
+					// a worm facing downward has a negative jump time
+					return;
+				}
+				int n = 1 + (int) (time / interval * markersPerInterval);
+				if (x.length < n + 1) {
+					x = new double[n + 1];
+					y = new double[n + 1];
+					valid = new boolean[n + 1];
+				}
+				for (int i = 0; i <= n; i++) {
+					double[] xy = facade.getJumpStep(worm, i * time / n);
+					valid[i] = xy != null;
+					if (xy != null) {
+						x[i] = screen.getScreenX(xy[0]);
+						y[i] = screen.getScreenY(xy[1]);
+					}
+				}
+				size = n + 1;
+			} catch (ModelException e) {
+				// cannot jump; no points
+				size = 0;
+			}
+		}
+
+		/**
+		 * Number of points, including the start; 0 if the worm cannot jump
+		 */
+		public int size() {
+			return size;
+		}
+
+		public boolean isValid(int i) {
+			return valid[i];
+		}
+
+		public double getScreenX(int i) {
+			return x[i];
+		}
+
+		public double getScreenY(int i) {
+			return y[i];
+		}
+	}
+
+	private final Map<Worm, Trajectory> trajectories = new IdentityHashMap<Worm, Trajectory>();
+
+	private long frame;
+	private int reused;
+	private int computed;
+
+	/**
+	 * The trajectory of the given worm on the given screen
+	 * 
+	 * @param interval
+	 *            The time (in worm-seconds) between two markers
+	 * @param markersPerInterval
+	 *            The number of points per interval
+	 */
+	public Trajectory get(IFacade facade, Worm worm, Screen screen,
+			double interval, double markersPerInterval) {
+		Trajectory trajectory = trajectories.get(worm);
+		if (trajectory == null) {
+			trajectory = new Trajectory();
+			trajectories.put(worm, trajectory);
+		} else if (trajectory.isFor(worm, screen, markersPerInterval)) {
+			trajectory.frame = frame;
+			reused++;
+			return trajectory;
+		}
+		trajectory.frame = frame;
+		trajectory.compute(facade, worm, screen, interval, markersPerInterval);
+		computed++;
+		return trajectory;
+	}
+
+	/**
+	 * Start counting the trajectories of a new frame, and drop the
+	 * trajectories that were not asked for during the previous one
+	 */
+	public void startFrame() {
+		Iterator<Trajectory> iterator = trajectories.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().frame != frame) {
+				iterator.remove();
+			}
+		}
+		frame++;
+		reused = 0;
+		computed = 0;
+	}
+
+	/**
+	 * Number of worms of which a trajectory is kept
+	 */
+	public int size() {
+		return trajectories.size();
+	}
+
+	/**
+	 * Number of trajectories that were used again since the frame started
+	 */
+	public int getReused() {
+		return reused;
+	}
+
+	/**
+	 * Number of trajectories that had to be computed since the frame started
+	 */
+	public int getComputed() {
+		return computed;
+	}
+}
@@ -0,0 +1,45 @@
+package worms.gui.game;
+
+import worms.gui.game.sprites.WormSprite;
+import worms.model.EntitySystem;
+import worms.model.WormWorld;
+
+/**
+ * Brings the direction and size of the worm sprites up to date with the
+ * entities of a world, looking only at the render flags of each entity.
+ * 
+ * Positions are left alone, because the commands animate them.
+ */
+public class WormRenderSystem implements EntitySystem {
+
+	private WormSprite[] sprites = new WormSprite[0];
+
+	public void setSprite(int entity, WormSprite sprite) {
+		if (entity >= sprites.length) {
+			WormSprite[] newSprites = new WormSprite[Math.max(entity + 1,
+					2 * sprites.length)];
+			System.arraycopy(sprites, 0, newSprites, 0, sprites.length);
+			sprites = newSprites;
+		}
+		sprites[entity] = sprite;
+	}
+
+	@Override
+	public void update(WormWorld world, double timeDelta) {
+		int[] flags = world.getRenderFlags();
+		double[] angles = world.getAngle();
+		double[] radii = world.getRadius();
+		int size = Math.min(world.size(), sprites.length);
+		for (int entity = 0; entity < size; entity++) {
+			if (flags[entity] != 0 && sprites[entity] != null) {
+				if ((flags[entity] & WormWorld.RENDER_DIRECTION) != 0) {
+					sprites[entity].setDirection(angles[entity]);
+				}
+				if ((flags[entity] & WormWorld.RENDER_RADIUS) != 0) {
+					sprites[entity].setRadius(radii[entity]);
+				}
+				flags[entity] = 0;
+			}
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package worms.gui.game.commands;
 
+import java.awt.EventQueue;
+
 import worms.gui.game.PlayGameScreen;
 import worms.model.IFacade;
 
@@ -7,6 +9,7 @@ public abstract class Command {
 
 	private final IFacade facade;
 	private final PlayGameScreen screen;
+	private final long inputTime;
 
 	private double elapsedTime;
 	private boolean cancelled = false;
@@ -15,6 +18,20 @@ public abstract class Command {
 	protected Command(IFacade facade, PlayGameScreen screen) {
 		this.facade = facade;
 		this.screen = screen;
+		this.inputTime = EventQueue.getMostRecentEventTime();
+	}
+
+	/**
+	 * The time of the key or mouse event that caused this command, in
+	 * milliseconds since the epoch.
+	 * 
+	 * Commands are created by the input modes while they handle an event, so
+	 * this is the time at which the event was generated, before it waited in
+	 * the event queue. A command that is created outside of the event
+	 * dispatch thread takes the time at which it was created.
+	 */
+	public long getInputTime() {
+		return inputTime;
 	}
 
 	protected PlayGameScreen getScreen() {
@@ -1,12 +1,27 @@
 package worms.gui.game.commands;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
 
 public class CommandProcessor {
 	private Queue<Command> commandQueue = new LinkedList<Command>();
 	private Command executingCommand;
 
+	/**
+	 * Commands that have started (or were cancelled) since the last frame was
+	 * painted
+	 */
+	private final List<Command> awaitingDisplay = new ArrayList<Command>();
+
+	private final Map<String, LatencyHistogram> latencies = new TreeMap<String, LatencyHistogram>();
+	private final Map<String, LatencyHistogram> latenciesView = Collections
+			.unmodifiableMap(latencies);
+
 	public void enqueueCommand(Command cmd) {
 		commandQueue.add(cmd);
 	}
@@ -15,6 +30,7 @@ public class CommandProcessor {
 		if (!commandQueue.isEmpty()) {
 			executingCommand = commandQueue.poll();
 			executingCommand.startExecution();
+			awaitingDisplay.add(executingCommand);
 		} else {
 			executingCommand = null;
 		}
@@ -33,4 +49,33 @@ public class CommandProcessor {
 		}
 	}
 
+	/**
+	 * Record, for every command that started since the previous frame, the
+	 * time from its input event to the given time, at which a frame that
+	 * shows its effect was painted
+	 * 
+	 * @param time
+	 *            In milliseconds since the epoch
+	 */
+	public void framePainted(long time) {
+		for (Command command : awaitingDisplay) {
+			String type = command.getClass().getSimpleName();
+			LatencyHistogram histogram = latencies.get(type);
+			if (histogram == null) {
+				histogram = new LatencyHistogram();
+				latencies.put(type, histogram);
+			}
+			histogram.record(time - command.getInputTime());
+		}
+		awaitingDisplay.clear();
+	}
+
+	/**
+	 * The input-to-display latencies of the commands, by the simple name of
+	 * their class, in alphabetical order
+	 */
+	public Map<String, LatencyHistogram> getLatencies() {
+		return latenciesView;
+	}
+
 }
\ No newline at end of file
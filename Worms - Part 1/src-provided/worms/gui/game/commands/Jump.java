@@ -46,16 +46,15 @@ public class Jump extends Command {
 			if (getElapsedTime() >= getTotalDuration()) {
 				getFacade().jump(worm);
 				finished = true;
-				double x = getScreen().getScreenX(getFacade().getX(getWorm()));
-				double y = getScreen().getScreenY(getFacade().getY(getWorm()));
+				double x = getFacade().getX(getWorm());
+				double y = getFacade().getY(getWorm());
 
 				sprite.setCenterLocation(x, y);
 			} else {
 				double[] xy = getFacade().getJumpStep(getWorm(),
 						getElapsedTime());
 
-				sprite.setCenterLocation(getScreen().getScreenX(xy[0]),
-						getScreen().getScreenY(xy[1]));
+				sprite.setCenterLocation(xy[0], xy[1]);
 			}
 		} catch (ModelException e) {
 			finished = true;
@@ -0,0 +1,106 @@
+package worms.gui.game.commands;
+
+/**
+ * A histogram of latencies, in milliseconds, with buckets that are about a
+ * frame wide for short latencies and grow wider for longer ones.
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Exclusive upper bounds of the buckets, in milliseconds; the last bucket
+	 * holds all longer latencies
+	 */
+	private static final long[] BOUNDS = { 1, 2, 4, 8, 12, 17, 25, 34, 50,
+			67, 100, 150, 250, 500, 1000, 2000, 5000 };
+
+	private final long[] counts = new long[BOUNDS.length + 1];
+	private long count;
+	private long sum;
+	private long maximum;
+
+	/**
+	 * Record a single latency; negative latencies (from a clock that was
+	 * set back) are recorded as 0
+	 */
+	public void record(long millis) {
+		millis = Math.max(0, millis);
+		int bucket = 0;
+		while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+			bucket++;
+		}
+		counts[bucket]++;
+		count++;
+		sum += millis;
+		maximum = Math.max(maximum, millis);
+	}
+
+	/**
+	 * Number of latencies recorded
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Longest latency recorded, or 0 if none were
+	 */
+	public long getMaximum() {
+		return maximum;
+	}
+
+	/**
+	 * Average latency, or 0 if none were recorded
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * An upper bound on the given fraction of the latencies: the upper bound
+	 * of the bucket in which that fraction is reached, but never more than the
+	 * longest latency. Returns 0 if no latencies were recorded.
+	 *
+	 * @param fraction
+	 *            Between 0 and 1, e.g. 0.95 for the 95th percentile
+	 */
+	public long getPercentile(double fraction) {
+		if (fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Not a valid fraction: "
+					+ fraction);
+		}
+		long needed = (long) Math.ceil(fraction * count);
+		long seen = 0;
+		for (int i = 0; i < BOUNDS.length; i++) {
+			seen += counts[i];
+			if (seen >= needed && seen > 0) {
+				return Math.min(BOUNDS[i], maximum);
+			}
+		}
+		return maximum;
+	}
+
+	/**
+	 * The number of latencies per bucket, one bucket per line, leaving out
+	 * empty buckets
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		long lower = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				result.append(lower);
+				if (i < BOUNDS.length) {
+					result.append(" - ").append(BOUNDS[i]).append(" ms: ");
+				} else {
+					result.append(" ms or more: ");
+				}
+				result.append(counts[i]).append('\n');
+			}
+			if (i < BOUNDS.length) {
+				lower = BOUNDS[i];
+			}
+		}
+		return result.toString();
+	}
+}
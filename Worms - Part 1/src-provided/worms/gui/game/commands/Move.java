@@ -61,10 +61,10 @@ public class Move extends Command {
 
 	@Override
 	protected void doStartExecution() {
-		this.startX = getScreen().getScreenX(getFacade().getX(worm));
-		this.startY = getScreen().getScreenY(getFacade().getY(worm));
+		this.startX = getFacade().getX(worm);
+		this.startY = getFacade().getY(worm);
 		getFacade().move(worm, nbSteps);
-		this.finalX = getScreen().getScreenX(getFacade().getX(worm));
-		this.finalY = getScreen().getScreenY(getFacade().getY(worm));
+		this.finalX = getFacade().getX(worm);
+		this.finalY = getFacade().getY(worm);
 	}
 }
\ No newline at end of file
@@ -24,7 +24,9 @@ public class Rename extends InstantaneousCommand {
 	@Override
 	protected void doStartExecution() {
 		try {
+			String oldName = getFacade().getName(worm);
 			getFacade().rename(worm, newName);
+			getScreen().nameChanged(oldName);
 		} catch (ModelException e) {
 			// an invalid name
 			getScreen().addMessage("Invalid name: " + newName);
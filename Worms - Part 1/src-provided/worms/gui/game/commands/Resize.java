@@ -1,7 +1,6 @@
 package worms.gui.game.commands;
 
 import worms.gui.game.PlayGameScreen;
-import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
 import worms.model.ModelException;
 import worms.model.Worm;
@@ -27,8 +26,6 @@ public class Resize extends InstantaneousCommand {
 		try {
 			double newRadius = factor * getFacade().getRadius(worm);
 			getFacade().setRadius(worm, newRadius);
-			WormSprite sprite = getScreen().getWormSprite(worm);
-			sprite.setRadius(newRadius);
 		} catch (ModelException e) {
 			// an invalid radius
 			getScreen().addMessage(
@@ -1,7 +1,6 @@
 package worms.gui.game.commands;
 
 import worms.gui.game.PlayGameScreen;
-import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
 import worms.model.Worm;
 
@@ -28,7 +27,5 @@ public class Turn extends InstantaneousCommand {
 	@Override
 	protected void doStartExecution() {
 		getFacade().turn(worm, angle);
-		WormSprite sprite = getScreen().getWormSprite(worm);
-		sprite.setDirection(getFacade().getOrientation(worm));
 	}
 }
\ No newline at end of file
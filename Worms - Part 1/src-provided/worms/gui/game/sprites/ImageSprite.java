@@ -5,9 +5,13 @@ import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.imageio.ImageIO;
 
+import worms.gui.GUIUtils;
+
 public class ImageSprite extends Sprite {
 
 	// original image, at original scale
@@ -15,15 +19,19 @@ public class ImageSprite extends Sprite {
 
 	// only created when scale != 1.0
 	private BufferedImage scaledImage;
-	// only create when necessary
+	// created as soon as the sprite is flipped, so that drawing never changes
+	// the sprite (tiles may draw the same sprite on several threads at once)
 	private BufferedImage scaledImageHflipped;
 
 	private boolean hflipped = false;
 
 	private double scale;
 
+	// original images are never changed, so all sprites of the same file share one
+	private static final Map<String, BufferedImage> originalImages = new HashMap<String, BufferedImage>();
+
 	public ImageSprite(String filename) {
-		this.originalImage = loadImage(filename);
+		this.originalImage = getOriginalImage(filename);
 		this.scaledImage = originalImage;
 		this.scale = 1.0;
 	}
@@ -69,19 +77,30 @@ public class ImageSprite extends Sprite {
 	}
 
 	protected Image getImageToDraw() {
-		Image imageToDraw = scaledImage;
 		if (isHflipped()) {
-			if (scaledImageHflipped == null) {
-				scaledImageHflipped = hflip(scaledImage);
+			return scaledImageHflipped;
+		}
+		return scaledImage;
+	}
+
+	private BufferedImage getOriginalImage(String filename) {
+		synchronized (originalImages) {
+			BufferedImage image = originalImages.get(filename);
+			if (image == null) {
+				image = loadImage(filename);
+				originalImages.put(filename, image);
 			}
-			imageToDraw = scaledImageHflipped;
+			return image;
 		}
-		return imageToDraw;
 	}
 
+	/**
+	 * Load the image in the given file, converted to the format that is the
+	 * fastest to draw
+	 */
 	protected BufferedImage loadImage(String filename) {
 		try {
-			return ImageIO.read(new File(filename));
+			return toBufferedImage(ImageIO.read(new File(filename)));
 		} catch (IOException e) {
 			throw new RuntimeException(
 					"Could not read file '" + filename + "'", e);
@@ -90,6 +109,9 @@ public class ImageSprite extends Sprite {
 
 	public void setHflipped(boolean value) {
 		hflipped = value;
+		if (value && scaledImageHflipped == null) {
+			scaledImageHflipped = hflip(scaledImage);
+		}
 	}
 
 	public boolean isHflipped() {
@@ -97,8 +119,8 @@ public class ImageSprite extends Sprite {
 	}
 
 	protected static BufferedImage hflip(BufferedImage image) {
-		BufferedImage flippedImage = new BufferedImage(image.getWidth(),
-				image.getHeight(), image.getType());
+		BufferedImage flippedImage = GUIUtils.createTranslucentImage(
+				image.getWidth(), image.getHeight());
 		Graphics2D flippedGraphics = flippedImage.createGraphics();
 		flippedGraphics.scale(-1, 1);
 		flippedGraphics.drawImage(image, -image.getWidth(null), 0, null);
@@ -107,24 +129,19 @@ public class ImageSprite extends Sprite {
 	}
 
 	protected static BufferedImage toBufferedImage(Image img) {
-		if (img instanceof BufferedImage) {
-			return (BufferedImage) img;
-		}
-
-		BufferedImage result = new BufferedImage(img.getWidth(null),
-				img.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-
-		Graphics2D resultGraphics = result.createGraphics();
-		resultGraphics.drawImage(img, 0, 0, null);
-		resultGraphics.dispose();
-
-		return result;
+		return GUIUtils.toTranslucentImage(img);
 	}
 
 	@Override
-	public void draw(Graphics2D g) {
-		int x = (int) (getCenterX() - getWidth(g) / 2);
-		int y = (int) (getCenterY() - getHeight(g) / 2);
-		g.drawImage(getImageToDraw(), x, y, null);
+	public void draw(Graphics2D g, double screenX, double screenY, double zoom) {
+		double width = getWidth(g) * zoom;
+		double height = getHeight(g) * zoom;
+		int x = (int) (screenX - width / 2);
+		int y = (int) (screenY - height / 2);
+		if (zoom == 1.0) {
+			g.drawImage(getImageToDraw(), x, y, null);
+		} else {
+			g.drawImage(getImageToDraw(), x, y, (int) width, (int) height, null);
+		}
 	}
 }
\ No newline at end of file
@@ -11,12 +11,22 @@ public abstract class Sprite {
 		super();
 	}
 
-	public abstract void draw(Graphics2D g);
+	/**
+	 * Draw the sprite centered at the given point of the screen
+	 * 
+	 * @param zoom
+	 *            factor by which to scale the sprite
+	 */
+	public abstract void draw(Graphics2D g, double screenX, double screenY,
+			double zoom);
 
 	public abstract double getHeight(Graphics2D g);
 
 	public abstract double getWidth(Graphics2D g);
 
+	/**
+	 * Location of the center of the sprite (in worm-meter)
+	 */
 	public double[] getCenterLocation() {
 		return new double[] { getCenterX(), getCenterY() };
 	}
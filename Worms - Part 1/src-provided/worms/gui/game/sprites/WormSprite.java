@@ -6,6 +6,7 @@ import worms.model.Worm;
 public class WormSprite extends ImageSprite {
 
 	private final Worm worm;
+	private double radius;
 
 	public WormSprite(Worm worm) {
 		super("images/worm.png");
@@ -16,6 +17,13 @@ public class WormSprite extends ImageSprite {
 		return worm;
 	}
 
+	/**
+	 * @return the radius (in worm-meter)
+	 */
+	public double getRadius() {
+		return radius;
+	}
+
 	public void setDirection(double newDirection) {
 		double direction = GUIUtils.restrictDirection(newDirection);
 
@@ -31,6 +39,8 @@ public class WormSprite extends ImageSprite {
 	 *            (in worm-meter)
 	 */
 	public void setRadius(double radius) {
+		this.radius = radius;
+
 		/*
 		 * Height of the image (when drawn at native size) in worm-meters, given
 		 * the scale at which the world is drawn to screen
@@ -0,0 +1,104 @@
+package worms.util;
+
+/**
+ * Sine and cosine, either exact or approximated.
+ * 
+ * Subsystems that only need a value for drawing can use {@link #TABLE}, which
+ * looks the value up in a table and interpolates linearly between the two
+ * nearest entries. Subsystems whose results must be reproducible, such as the
+ * action point accounting of the model, should keep using {@link #EXACT}.
+ */
+public abstract class Trigonometry {
+
+	/**
+	 * Delegates to {@link Math#sin(double)} and {@link Math#cos(double)}
+	 */
+	public static final Trigonometry EXACT = new Trigonometry() {
+		@Override
+		public double sin(double angle) {
+			return Math.sin(angle);
+		}
+
+		@Override
+		public double cos(double angle) {
+			return Math.cos(angle);
+		}
+
+		@Override
+		public double getMaximumError() {
+			return 0;
+		}
+	};
+
+	/**
+	 * Interpolates in a table of 4096 sines per turn. The absolute error is
+	 * at most (2pi/4096)^2 / 8, about 2.95e-7, plus rounding.
+	 */
+	public static final Trigonometry TABLE = new TableTrigonometry(12);
+
+	public abstract double sin(double angle);
+
+	public abstract double cos(double angle);
+
+	/**
+	 * Returns an upper bound on the absolute difference with
+	 * {@link Math#sin(double)} and {@link Math#cos(double)}
+	 */
+	public abstract double getMaximumError();
+
+	private static class TableTrigonometry extends Trigonometry {
+
+		/**
+		 * Angles further away from 0 lose too much precision when converted
+		 * to a table index; they are computed exactly.
+		 */
+		private static final double MAX_TABLE_ANGLE = 1 << 20;
+
+		private final int size;
+		private final int mask;
+		private final double indexPerRadian;
+		private final double maximumError;
+
+		/**
+		 * sines of k * 2pi / size, for k = 0..size (both ends included, so
+		 * that interpolation never needs to wrap)
+		 */
+		private final double[] sines;
+
+		private TableTrigonometry(int log2Size) {
+			this.size = 1 << log2Size;
+			this.mask = size - 1;
+			this.indexPerRadian = size / (2 * Math.PI);
+			this.sines = new double[size + 1];
+			for (int i = 0; i <= size; i++) {
+				sines[i] = Math.sin(i / indexPerRadian);
+			}
+			double step = 2 * Math.PI / size;
+			// linear interpolation error bound h^2/8 * max|sin''|, plus rounding
+			this.maximumError = step * step / 8 + 1e-15;
+		}
+
+		@Override
+		public double sin(double angle) {
+			if (!(Math.abs(angle) < MAX_TABLE_ANGLE)) {
+				return Math.sin(angle);
+			}
+			double position = angle * indexPerRadian;
+			double floor = Math.floor(position);
+			int index = ((int) floor) & mask;
+			double fraction = position - floor;
+			double low = sines[index];
+			return low + fraction * (sines[index + 1] - low);
+		}
+
+		@Override
+		public double cos(double angle) {
+			return sin(angle + Math.PI / 2);
+		}
+
+		@Override
+		public double getMaximumError() {
+			return maximumError;
+		}
+	}
+}
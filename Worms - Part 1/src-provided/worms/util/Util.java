@@ -7,11 +7,16 @@ public class Util {
 		return fuzzyEquals(x, y, DEFAULT_EPSILON);
 	}
 
+	/**
+	 * Compares the bit patterns instead of boxing both values, which gives the
+	 * same result as <code>Double.valueOf(x).equals(Double.valueOf(y))</code>
+	 * without allocating.
+	 */
 	public static boolean fuzzyEquals(double x, double y, double eps) {
 		if (Double.isNaN(x) || Double.isNaN(y))
 			return false;
 		return Math.abs(x - y) <= eps
-				|| Double.valueOf(x).equals(Double.valueOf(y));
+				|| Double.doubleToLongBits(x) == Double.doubleToLongBits(y);
 	}
 
 	public static boolean fuzzyLessThanOrEqualTo(double x, double y) {
@@ -39,6 +44,51 @@ public class Util {
 		}
 	}
 
+	/**
+	 * Returns whether min <= x <= max, both comparisons being fuzzy.
+	 */
+	public static boolean fuzzyBetween(double min, double x, double max) {
+		return fuzzyBetween(min, x, max, DEFAULT_EPSILON);
+	}
+
+	public static boolean fuzzyBetween(double min, double x, double max,
+			double eps) {
+		return fuzzyLessThanOrEqualTo(min, x, eps)
+				&& fuzzyLessThanOrEqualTo(x, max, eps);
+	}
+
+	/**
+	 * Stores fuzzyEquals(xs[i], ys[i], eps) in result[i] for every index of
+	 * xs.
+	 */
+	public static void fuzzyEquals(double[] xs, double[] ys, double eps,
+			boolean[] result) {
+		for (int i = 0; i < xs.length; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			result[i] = (x == x) & (y == y)
+					& ((Math.abs(x - y) <= eps) | (Double.doubleToLongBits(x) == Double
+							.doubleToLongBits(y)));
+		}
+	}
+
+	/**
+	 * Stores fuzzyLessThanOrEqualTo(xs[i], ys[i], eps) in result[i] for every
+	 * index of xs.
+	 */
+	public static void fuzzyLessThanOrEqualTo(double[] xs, double[] ys,
+			double eps, boolean[] result) {
+		for (int i = 0; i < xs.length; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			boolean equal = (x == x)
+					& (y == y)
+					& ((Math.abs(x - y) <= eps) | (Double.doubleToLongBits(x) == Double
+							.doubleToLongBits(y)));
+			result[i] = equal | (Double.compare(x, y) < 0);
+		}
+	}
+
 	public static double absoluteError(double expected, double actual) {
 		return Math.abs(expected - actual);
 	}
@@ -47,4 +97,4 @@ public class Util {
 		return absoluteError(expected, actual) / Math.abs(expected);
 	}
 
-}
\ No newline at end of file
+}
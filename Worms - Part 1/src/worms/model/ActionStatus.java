@@ -0,0 +1,68 @@
+package worms.model;
+
+/**
+ * An enumeration of the outcomes of checking whether a worm can perform an action or accept a value.
+ *
+ * Checking an action this way never throws an exception, so that candidate actions can be
+ * rejected without the cost of creating one.
+ *
+ * @version 1.0
+ */
+public enum ActionStatus {
+
+	/**
+	 * The action can be performed
+	 */
+	VALID(null),
+
+	/**
+	 * The worm is asked to move a negative number of steps
+	 */
+	NEGATIVE_STEPS("Not a valid amount for Steps"),
+
+	/**
+	 * The worm does not have enough action points left for the action
+	 */
+	INSUFFICIENT_AP("Not enough AP"),
+
+	/**
+	 * The worm is not facing a direction in which it can jump
+	 */
+	INVALID_DIRECTION("Not facing a direction to jump in"),
+
+	/**
+	 * The name has less than 2 characters
+	 */
+	NAME_TOO_SHORT("Not enough characters"),
+
+	/**
+	 * The name does not start with an uppercase character
+	 */
+	NAME_NOT_CAPITALIZED("Not starting with uppercase character"),
+
+	/**
+	 * The name contains a character that is not a letter, a space or a single or double quote
+	 */
+	NAME_INVALID_CHARACTER("Not a valid character");
+
+	private final String message;
+
+	private ActionStatus(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * This method returns whether the action can be performed
+	 */
+	public boolean isValid() {
+		return this == VALID;
+	}
+
+	/**
+	 * This method returns the message that describes why the action cannot be performed,
+	 * or null if it can be performed
+	 */
+	public String getMessage() {
+		return message;
+	}
+}
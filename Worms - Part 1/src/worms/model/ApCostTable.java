@@ -0,0 +1,213 @@
+package worms.model;
+
+/**
+ * A table of the AP costs of moving and turning, for planners that evaluate many candidate actions.
+ *
+ * The table holds the costs for the angles k * 2*PI / angleResolution (for k from -angleResolution
+ * to angleResolution, so covering -2*PI up to 2*PI) and for 0 up to maxSteps steps. Angles obtained
+ * from getAngle(k) are found in the table; any other angle, and any number of steps outside the table,
+ * is calculated exactly with the formulas of Worm. The results are therefore always exactly those of
+ * Worm.calculateApCostMove and Worm.calculateApCostTurn.
+ *
+ * @version 1.0
+ */
+public class ApCostTable {
+
+	private final int angleResolution;
+
+	private final int maxSteps;
+
+	private final double angleStep;
+
+	/**
+	 * The angles in the table, at index k + angleResolution for k * angleStep
+	 */
+	private final double[] angles;
+
+	/**
+	 * The factor of Worm.calculateMoveCostFactor for every angle in the table
+	 */
+	private final double[] moveCostFactors;
+
+	/**
+	 * The cost of 0 up to maxSteps steps for every angle in the table
+	 */
+	private final int[][] moveCosts;
+
+	/**
+	 * The cost of turning by every angle in the table
+	 */
+	private final int[] turnCosts;
+
+	/**
+	 * Creates a table of AP costs
+	 *
+	 * @param angleResolution
+	 * 		The number of angles in the table per full turn
+	 *
+	 * @param maxSteps
+	 * 		The largest number of steps of which the cost is in the table
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the resolution is smaller than 1 or maxSteps is negative
+	 */
+	public ApCostTable(int angleResolution, int maxSteps) throws IllegalArgumentException {
+		if (angleResolution < 1)
+			throw new IllegalArgumentException("Not a valid angle resolution");
+		if (maxSteps < 0)
+			throw new IllegalArgumentException("Not a valid amount for Steps");
+		this.angleResolution = angleResolution;
+		this.maxSteps = maxSteps;
+		this.angleStep = 2 * Math.PI / angleResolution;
+
+		int size = 2 * angleResolution + 1;
+		this.angles = new double[size];
+		this.moveCostFactors = new double[size];
+		this.moveCosts = new int[size][maxSteps + 1];
+		this.turnCosts = new int[size];
+		for (int index = 0; index < size; index++) {
+			double angle = getAngle(index - angleResolution);
+			angles[index] = angle;
+			moveCostFactors[index] = Worm.calculateMoveCostFactor(angle);
+			for (int nbSteps = 0; nbSteps <= maxSteps; nbSteps++)
+				moveCosts[index][nbSteps] = (int) Math.ceil(moveCostFactors[index] * nbSteps);
+			turnCosts[index] = Worm.calculateApCostTurn(angle);
+		}
+	}
+
+	/**
+	 * This method returns the number of angles in the table per full turn
+	 */
+	public int getAngleResolution() {
+		return angleResolution;
+	}
+
+	/**
+	 * This method returns the largest number of steps of which the cost is in the table
+	 */
+	public int getMaxSteps() {
+		return maxSteps;
+	}
+
+	/**
+	 * This method returns the k-th angle of the table
+	 *
+	 * @param k
+	 * 		The number of angle steps, negative for clockwise angles
+	 *
+	 * @return k * 2*PI / getAngleResolution()
+	 */
+	public double getAngle(int k) {
+		return k * angleStep;
+	}
+
+	/**
+	 * Method to find the index of an angle in the table
+	 *
+	 * @param angle
+	 * 		The angle to look up
+	 *
+	 * @return
+	 * 		- the index of the angle if it is exactly one of the angles of the table
+	 * 		- -1 otherwise
+	 */
+	private int indexOf(double angle) {
+		double position = Math.rint(angle / angleStep);
+		if (!(Math.abs(position) <= angleResolution))
+			return -1;
+		int index = (int) position + angleResolution;
+		if (angles[index] != angle)
+			return -1;
+		return index;
+	}
+
+	/**
+	 * Method to calculate the cost of moving in a given direction
+	 *
+	 * @param angle
+	 * 		The direction the worm is facing
+	 *
+	 * @param nbSteps
+	 * 		Amount of steps the worm will move in that direction
+	 *
+	 * @return the cost of the movement, exactly as Worm.calculateApCostMove
+	 * 		| (int) Math.ceil(Worm.calculateMoveCostFactor(angle) * nbSteps)
+	 */
+	public int getMoveCost(double angle, int nbSteps) {
+		int index = indexOf(angle);
+		if (index >= 0 && nbSteps >= 0 && nbSteps <= maxSteps)
+			return moveCosts[index][nbSteps];
+		double factor = (index >= 0) ? moveCostFactors[index] : Worm.calculateMoveCostFactor(angle);
+		return (int) Math.ceil(factor * nbSteps);
+	}
+
+	/**
+	 * Method to calculate the cost of turning by a given angle
+	 *
+	 * @param angle
+	 * 		The angle by which the worm will turn
+	 *
+	 * @return the cost of the turn, exactly as Worm.calculateApCostTurn
+	 * 		| Worm.calculateApCostTurn(angle)
+	 */
+	public int getTurnCost(double angle) {
+		int index = indexOf(angle);
+		if (index >= 0)
+			return turnCosts[index];
+		return Worm.calculateApCostTurn(angle);
+	}
+
+	/**
+	 * Method to calculate the cost of every combination of an angle and an amount of steps in one call
+	 *
+	 * @param angles
+	 * 		The directions to evaluate
+	 *
+	 * @param steps
+	 * 		The amounts of steps to evaluate
+	 *
+	 * @param costs
+	 * 		The matrix in which the costs are stored, one row per angle
+	 * 		| costs[i * steps.length + j] == getMoveCost(angles[i], steps[j])
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If costs does not have exactly one element per combination
+	 */
+	public void fillMoveCosts(double[] angles, int[] steps, int[] costs) throws IllegalArgumentException {
+		if (costs.length != angles.length * steps.length)
+			throw new IllegalArgumentException("Cost matrix does not have the right size");
+		int offset = 0;
+		for (int i = 0; i < angles.length; i++) {
+			int index = indexOf(angles[i]);
+			double factor = (index >= 0) ? moveCostFactors[index] : Worm.calculateMoveCostFactor(angles[i]);
+			for (int j = 0; j < steps.length; j++) {
+				int nbSteps = steps[j];
+				if (index >= 0 && nbSteps >= 0 && nbSteps <= maxSteps)
+					costs[offset + j] = moveCosts[index][nbSteps];
+				else
+					costs[offset + j] = (int) Math.ceil(factor * nbSteps);
+			}
+			offset += steps.length;
+		}
+	}
+
+	/**
+	 * Method to calculate the cost of turning by each of the given angles in one call
+	 *
+	 * @param angles
+	 * 		The angles to evaluate
+	 *
+	 * @param costs
+	 * 		The array in which the costs are stored
+	 * 		| costs[i] == getTurnCost(angles[i])
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the arrays do not have the same length
+	 */
+	public void fillTurnCosts(double[] angles, int[] costs) throws IllegalArgumentException {
+		if (costs.length != angles.length)
+			throw new IllegalArgumentException("All arrays must have the same length");
+		for (int i = 0; i < angles.length; i++)
+			costs[i] = getTurnCost(angles[i]);
+	}
+}
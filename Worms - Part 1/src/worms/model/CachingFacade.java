@@ -0,0 +1,373 @@
+package worms.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A facade that remembers the answers to read-only queries about a worm, so that
+ * asking the same question twice within one frame only reaches the underlying
+ * facade once.
+ *
+ * The cached values of a worm are forgotten as soon as that worm is changed through
+ * this facade (move, turn, jump, setRadius, rename) or its version changes in any
+ * other way, and the values of all worms are forgotten when a new frame is started.
+ * The entries of worms that have not been asked about for a while are removed (see
+ * startFrame()), so that worms that are no longer shown do not stay in the cache.
+ *
+ * @version 1.0
+ */
+public class CachingFacade implements IFacade {
+
+	private static final int X = 1;
+	private static final int Y = 1 << 1;
+	private static final int ORIENTATION = 1 << 2;
+	private static final int RADIUS = 1 << 3;
+	private static final int ACTION_POINTS = 1 << 4;
+	private static final int MAX_ACTION_POINTS = 1 << 5;
+	private static final int NAME = 1 << 6;
+	private static final int MASS = 1 << 7;
+	private static final int JUMP_TIME = 1 << 8;
+
+	/**
+	 * Number of frames after which the entry of a worm that was not asked about is removed
+	 */
+	public static final int UNUSED_FRAMES = 64;
+
+	/**
+	 * The cached values of a single worm, only valid during the frame they were
+	 * recorded in
+	 */
+	private static class Entry {
+		private long frame;
+		private int version;
+		private int valid;
+
+		private double x;
+		private double y;
+		private double orientation;
+		private double radius;
+		private int actionPoints;
+		private int maxActionPoints;
+		private String name;
+		private double mass;
+		private double jumpTime;
+
+		private boolean isValid(int field, long currentFrame) {
+			if (frame != currentFrame) {
+				frame = currentFrame;
+				valid = 0;
+			}
+			return (valid & field) != 0;
+		}
+	}
+
+	/**
+	 * The facade that answers the queries that are not cached yet
+	 */
+	private final IFacade facade;
+
+	private final Map<Worm, Entry> entries = new HashMap<Worm, Entry>();
+
+	private long frame;
+
+	private long savedCalls;
+
+	private long underlyingCalls;
+
+	private long savedCallsLastFrame;
+
+	private long underlyingCallsLastFrame;
+
+	private long totalSavedCalls;
+
+	/**
+	 * Creates a caching facade on top of the given facade
+	 *
+	 * @param facade
+	 * 		The facade that answers all queries that are not cached
+	 */
+	public CachingFacade(IFacade facade) {
+		this.facade = facade;
+	}
+
+	/**
+	 * This method returns the facade on top of which this facade caches
+	 */
+	public IFacade getFacade() {
+		return facade;
+	}
+
+	/**
+	 * This method marks the start of a new frame: all cached values are forgotten, and the
+	 * counters of the frame that just ended become available through getSavedCallsLastFrame()
+	 * and getUnderlyingCallsLastFrame(). Once every UNUSED_FRAMES frames, the entries of the
+	 * worms that were not asked about since the previous time are removed.
+	 */
+	public void startFrame() {
+		frame++;
+		savedCallsLastFrame = savedCalls;
+		underlyingCallsLastFrame = underlyingCalls;
+		savedCalls = 0;
+		underlyingCalls = 0;
+		if (frame % UNUSED_FRAMES == 0)
+			prune();
+	}
+
+	private void prune() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext())
+			if (frame - iterator.next().frame > UNUSED_FRAMES)
+				iterator.remove();
+	}
+
+	/**
+	 * This method returns the number of worms of which this facade keeps an entry
+	 */
+	public int getEntryCount() {
+		return entries.size();
+	}
+
+	/**
+	 * This method forgets all cached values of the given worm
+	 *
+	 * @param worm
+	 * 		The worm of which the values have changed
+	 */
+	public void invalidate(Worm worm) {
+		Entry entry = entries.get(worm);
+		if (entry != null)
+			entry.valid = 0;
+	}
+
+	/**
+	 * This method returns the number of queries that were answered from the cache during the previous frame
+	 */
+	public long getSavedCallsLastFrame() {
+		return savedCallsLastFrame;
+	}
+
+	/**
+	 * This method returns the number of queries that reached the underlying facade during the previous frame
+	 */
+	public long getUnderlyingCallsLastFrame() {
+		return underlyingCallsLastFrame;
+	}
+
+	/**
+	 * This method returns the number of queries that were answered from the cache since this facade was created
+	 */
+	public long getTotalSavedCalls() {
+		return totalSavedCalls;
+	}
+
+	private Entry lookup(Worm worm, int field) {
+		Entry entry = entries.get(worm);
+		if (entry == null) {
+			entry = new Entry();
+			entry.frame = frame;
+			entry.version = worm.getVersion();
+			entries.put(worm, entry);
+		} else if (entry.version != worm.getVersion()) {
+			entry.version = worm.getVersion();
+			entry.valid = 0;
+		}
+
+		if (entry.isValid(field, frame)) {
+			savedCalls++;
+			totalSavedCalls++;
+		} else {
+			underlyingCalls++;
+		}
+		return entry;
+	}
+
+	@Override
+	public Worm createWorm(double x, double y, double direction, double radius,
+			String name) {
+		return facade.createWorm(x, y, direction, radius, name);
+	}
+
+	@Override
+	public boolean canMove(Worm worm, int nbSteps) {
+		return facade.canMove(worm, nbSteps);
+	}
+
+	@Override
+	public void move(Worm worm, int nbSteps) {
+		try {
+			facade.move(worm, nbSteps);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public boolean canTurn(Worm worm, double angle) {
+		return facade.canTurn(worm, angle);
+	}
+
+	@Override
+	public void turn(Worm worm, double angle) {
+		try {
+			facade.turn(worm, angle);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public void jump(Worm worm) {
+		try {
+			facade.jump(worm);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public double getJumpTime(Worm worm) {
+		Entry entry = lookup(worm, JUMP_TIME);
+		if ((entry.valid & JUMP_TIME) == 0) {
+			entry.jumpTime = facade.getJumpTime(worm);
+			entry.valid |= JUMP_TIME;
+		}
+		return entry.jumpTime;
+	}
+
+	@Override
+	public double[] getJumpStep(Worm worm, double t) {
+		return facade.getJumpStep(worm, t);
+	}
+
+	@Override
+	public double getX(Worm worm) {
+		Entry entry = lookup(worm, X);
+		if ((entry.valid & X) == 0) {
+			entry.x = facade.getX(worm);
+			entry.valid |= X;
+		}
+		return entry.x;
+	}
+
+	@Override
+	public double getY(Worm worm) {
+		Entry entry = lookup(worm, Y);
+		if ((entry.valid & Y) == 0) {
+			entry.y = facade.getY(worm);
+			entry.valid |= Y;
+		}
+		return entry.y;
+	}
+
+	@Override
+	public double getOrientation(Worm worm) {
+		Entry entry = lookup(worm, ORIENTATION);
+		if ((entry.valid & ORIENTATION) == 0) {
+			entry.orientation = facade.getOrientation(worm);
+			entry.valid |= ORIENTATION;
+		}
+		return entry.orientation;
+	}
+
+	@Override
+	public double getRadius(Worm worm) {
+		Entry entry = lookup(worm, RADIUS);
+		if ((entry.valid & RADIUS) == 0) {
+			entry.radius = facade.getRadius(worm);
+			entry.valid |= RADIUS;
+		}
+		return entry.radius;
+	}
+
+	@Override
+	public void setRadius(Worm worm, double newRadius) {
+		try {
+			facade.setRadius(worm, newRadius);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public double getMinimalRadius(Worm worm) {
+		return facade.getMinimalRadius(worm);
+	}
+
+	@Override
+	public int getActionPoints(Worm worm) {
+		Entry entry = lookup(worm, ACTION_POINTS);
+		if ((entry.valid & ACTION_POINTS) == 0) {
+			entry.actionPoints = facade.getActionPoints(worm);
+			entry.valid |= ACTION_POINTS;
+		}
+		return entry.actionPoints;
+	}
+
+	@Override
+	public int getMaxActionPoints(Worm worm) {
+		Entry entry = lookup(worm, MAX_ACTION_POINTS);
+		if ((entry.valid & MAX_ACTION_POINTS) == 0) {
+			entry.maxActionPoints = facade.getMaxActionPoints(worm);
+			entry.valid |= MAX_ACTION_POINTS;
+		}
+		return entry.maxActionPoints;
+	}
+
+	@Override
+	public String getName(Worm worm) {
+		Entry entry = lookup(worm, NAME);
+		if ((entry.valid & NAME) == 0) {
+			entry.name = facade.getName(worm);
+			entry.valid |= NAME;
+		}
+		return entry.name;
+	}
+
+	@Override
+	public void rename(Worm worm, String newName) {
+		try {
+			facade.rename(worm, newName);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public double getMass(Worm worm) {
+		Entry entry = lookup(worm, MASS);
+		if ((entry.valid & MASS) == 0) {
+			entry.mass = facade.getMass(worm);
+			entry.valid |= MASS;
+		}
+		return entry.mass;
+	}
+
+	@Override
+	public ActionStatus tryMove(Worm worm, int nbSteps) {
+		try {
+			return facade.tryMove(worm, nbSteps);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public ActionStatus tryTurn(Worm worm, double angle) {
+		try {
+			return facade.tryTurn(worm, angle);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+	@Override
+	public ActionStatus tryJump(Worm worm) {
+		try {
+			return facade.tryJump(worm);
+		} finally {
+			invalidate(worm);
+		}
+	}
+
+}
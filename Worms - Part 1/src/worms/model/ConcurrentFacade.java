@@ -0,0 +1,324 @@
+package worms.model;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A facade that can be used by several threads at the same time.
+ *
+ * Every worm is guarded by a read-write lock: changes to a worm (move, turn, jump,
+ * setRadius, rename) are applied while holding its write lock, so that no other thread
+ * can observe a worm of which only some of the values have been changed. The worms are
+ * spread over a fixed number of locks by their identity hash code, so that no lock has to
+ * be remembered (and forgotten again) per worm; operations on different worms mostly use
+ * different locks, and otherwise merely wait for each other.
+ *
+ * The wrapped facade must allow operations on different worms at the same time. Facade
+ * does: every worm keeps its own state, and the names they share are kept in the
+ * synchronized NameTable. A WorldFacade does not, since all its worms share the growing
+ * arrays of one WormWorld; wrapping it only makes the operations on a single worm atomic
+ * as long as one thread at a time uses the facade.
+ *
+ * @version 1.0
+ */
+public class ConcurrentFacade implements IFacade {
+
+	/**
+	 * The facade that performs the operations once the lock of the worm is held
+	 */
+	private final IFacade facade;
+
+	/**
+	 * The number of locks over which the worms are spread, a power of two
+	 */
+	private static final int NB_LOCKS = 64;
+
+	private final ReadWriteLock[] locks = new ReadWriteLock[NB_LOCKS];
+
+	/**
+	 * Creates a thread-safe facade on top of the given facade
+	 *
+	 * @param facade
+	 * 		The facade that performs the operations, which must allow operations on different
+	 * 		worms at the same time
+	 */
+	public ConcurrentFacade(IFacade facade) {
+		this.facade = facade;
+		for (int i = 0; i < NB_LOCKS; i++)
+			locks[i] = new ReentrantReadWriteLock();
+	}
+
+	/**
+	 * This method returns the facade on top of which this facade provides thread-safety
+	 */
+	public IFacade getFacade() {
+		return facade;
+	}
+
+	/**
+	 * This method returns the lock that guards the given worm, which may guard other worms too
+	 *
+	 * @param worm
+	 * 		The worm of which the lock is needed
+	 */
+	public ReadWriteLock getLock(Worm worm) {
+		int hash = System.identityHashCode(worm);
+		// mix the high bits in, since only the low bits select the lock
+		hash ^= hash >>> 16;
+		return locks[hash & (NB_LOCKS - 1)];
+	}
+
+	/**
+	 * This method returns the position, orientation, radius and current amount of AP of the worm,
+	 * all read at the same moment
+	 *
+	 * @param worm
+	 * 		The worm of which the state is needed
+	 *
+	 * @return { x, y, orientation, radius, actionPoints }
+	 */
+	public double[] getState(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return new double[] { facade.getX(worm), facade.getY(worm),
+					facade.getOrientation(worm), facade.getRadius(worm),
+					facade.getActionPoints(worm) };
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public Worm createWorm(double x, double y, double direction, double radius,
+			String name) {
+		return facade.createWorm(x, y, direction, radius, name);
+	}
+
+	@Override
+	public boolean canMove(Worm worm, int nbSteps) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.canMove(worm, nbSteps);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void move(Worm worm, int nbSteps) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			facade.move(worm, nbSteps);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean canTurn(Worm worm, double angle) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.canTurn(worm, angle);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void turn(Worm worm, double angle) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			facade.turn(worm, angle);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void jump(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			facade.jump(worm);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public double getJumpTime(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getJumpTime(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public double[] getJumpStep(Worm worm, double t) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getJumpStep(worm, t);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public double getX(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getX(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public double getY(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getY(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public double getOrientation(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getOrientation(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public double getRadius(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getRadius(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void setRadius(Worm worm, double newRadius) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			facade.setRadius(worm, newRadius);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public double getMinimalRadius(Worm worm) {
+		return facade.getMinimalRadius(worm);
+	}
+
+	@Override
+	public int getActionPoints(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getActionPoints(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int getMaxActionPoints(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getMaxActionPoints(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public String getName(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getName(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void rename(Worm worm, String newName) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			facade.rename(worm, newName);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public double getMass(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.readLock().lock();
+		try {
+			return facade.getMass(worm);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public ActionStatus tryMove(Worm worm, int nbSteps) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			return facade.tryMove(worm, nbSteps);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public ActionStatus tryTurn(Worm worm, double angle) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			return facade.tryTurn(worm, angle);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public ActionStatus tryJump(Worm worm) {
+		ReadWriteLock lock = getLock(worm);
+		lock.writeLock().lock();
+		try {
+			return facade.tryJump(worm);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+}
+
@@ -0,0 +1,22 @@
+package worms.model;
+
+/**
+ * A system updates one aspect of all entities of a WormWorld, by walking through the
+ * component arrays of the world from the first to the last entity.
+ *
+ * @version 1.0
+ */
+public interface EntitySystem {
+
+	/**
+	 * This method updates all entities of the given world
+	 *
+	 * @param world
+	 * 		The world of which the entities are updated
+	 *
+	 * @param timeDelta
+	 * 		The time that has passed since the previous update, in seconds
+	 */
+	void update(WormWorld world, double timeDelta);
+
+}
@@ -34,7 +34,7 @@ public class Facade implements IFacade {
         /**
          * This method checks if the created worm can do a certain movement 
          * 
-         * @return worm.inspectMovement(nbSteps) (if current AP is not high enough, this will return false)
+         * @return worm.checkMovement(nbSteps).isValid() (if current AP is not high enough, this will return false)
          * 
          * @param worm
          * 		The newly created worm
@@ -45,7 +45,7 @@ public class Facade implements IFacade {
         @Override
         public boolean canMove(Worm worm, int nbSteps) {
                
-                return worm.isValidMovement(nbSteps);
+                return worm.checkMovement(nbSteps).isValid();
         }
         
         /**
@@ -83,12 +83,12 @@ public class Facade implements IFacade {
          * @param angle
          * 		The angle of direction a worm is facing
          * 
-         * @return worm.inspectTurn(angle) (returns false if the current amount of AP is not high enough)
+         * @return worm.checkTurn(angle).isValid() (returns false if the current amount of AP is not high enough)
          * 
          */
         @Override
         public boolean canTurn(Worm worm, double angle) {
-                return worm.isValidTurn(angle);
+                return worm.checkTurn(angle).isValid();
         }
         
         /**
@@ -249,7 +249,7 @@ public class Facade implements IFacade {
          */
         @Override
         public double getMinimalRadius(Worm worm){
-                return worm.minRadius; 
+                return Worm.minRadius; 
         }
  
         /**
@@ -336,5 +336,60 @@ public class Facade implements IFacade {
                
                 return worm.getMass();
         }
+        
+        /**
+         * This method moves the worm by a number of steps, but only if the worm can do this movement
+         * 
+         * @param worm
+         * 		The newly created worm
+         * 
+         * @param nbSteps
+         * 		Number of steps a worm will move
+         * 
+         * @return worm.checkMovement(nbSteps)   (VALID if the worm has moved, the reason why it could not move otherwise)
+         */
+        @Override
+        public ActionStatus tryMove(Worm worm, int nbSteps) {
+                ActionStatus status = worm.checkMovement(nbSteps);
+                if (status.isValid())
+                        worm.Move(nbSteps);
+                return status;
+        }
+        
+        /**
+         * This method turns the worm by a certain angle, but only if the worm can do this turn
+         * 
+         * @param worm
+         * 		The newly created worm
+         * 
+         * @param angle
+         * 		The angle by which the worm will turn
+         * 
+         * @return worm.checkTurn(angle)   (VALID if the worm has turned, the reason why it could not turn otherwise)
+         */
+        @Override
+        public ActionStatus tryTurn(Worm worm, double angle) {
+                ActionStatus status = worm.checkTurn(angle);
+                if (status.isValid())
+                        worm.Turn(angle);
+                return status;
+        }
+        
+        /**
+         * This method makes the worm jump, but only if the jump would move the worm
+         * 
+         * @param worm
+         * 		The newly created worm
+         * 
+         * @return worm.checkJump()   (VALID if the worm has jumped, the reason why it could not jump otherwise)
+         */
+        @Override
+        public ActionStatus tryJump(Worm worm) {
+                ActionStatus status = worm.checkJump();
+                if (status.isValid())
+                        worm.Jump();
+                return status;
+        }
+
  
 }
\ No newline at end of file
@@ -161,4 +161,25 @@ public interface IFacade {
 	 */
 	double getMass(Worm worm);
 
+	/**
+	 * Moves the given worm by the given number of steps if it can move, and
+	 * returns why it could not otherwise. Never throws an exception when the
+	 * worm cannot move.
+	 */
+	ActionStatus tryMove(Worm worm, int nbSteps);
+
+	/**
+	 * Turns the given worm by the given angle if it can turn, and returns why
+	 * it could not otherwise. Never throws an exception when the worm cannot
+	 * turn.
+	 */
+	ActionStatus tryTurn(Worm worm, double angle);
+
+	/**
+	 * Makes the given worm jump if a jump would move it, and returns why it
+	 * could not otherwise. Never throws an exception when the worm cannot
+	 * jump.
+	 */
+	ActionStatus tryJump(Worm worm);
+
 }
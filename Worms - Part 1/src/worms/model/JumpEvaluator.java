@@ -0,0 +1,149 @@
+package worms.model;
+
+import worms.util.Util;
+
+/**
+ * A class to evaluate the jump formulas of worms for many jumps at once.
+ *
+ * The jumps are given as parallel arrays of primitive values (one array per parameter,
+ * the same index in every array describing the same jump), so that many jumps can be
+ * evaluated without a Worm per jump. The results are equal to those of Worm.JumpTime()
+ * and Worm.JumpStep(t) within Util.DEFAULT_EPSILON.
+ *
+ * @version 1.0
+ */
+public final class JumpEvaluator {
+
+	/**
+	 * The earth acceleration (9.80665)
+	 */
+	public static final double G = 9.80665;
+
+	/* disable instantiations */
+	private JumpEvaluator() {
+	}
+
+	/**
+	 * Method to calculate the time a worm is in the air, for a single jump
+	 *
+	 * @param actionPoints
+	 * 		The current amount of AP of the worm
+	 *
+	 * @param mass
+	 * 		The mass of the worm
+	 *
+	 * @param angle
+	 * 		The angle the worm is facing
+	 *
+	 * @return
+	 * 		- 0.0 if the worm has no AP left
+	 * 			| actionPoints == 0
+	 * 		- the distance of the jump divided by the horizontal velocity otherwise
+	 * 			| distance / (velocity * cos(angle))
+	 */
+	public static double jumpTime(int actionPoints, double mass, double angle) {
+		if (actionPoints == 0)
+			return 0.0;
+		double velocity = jumpVelocity(actionPoints, mass);
+		double distance = (velocity * velocity * Math.sin(2 * angle)) / G;
+		return distance / (velocity * Math.cos(angle));
+	}
+
+	/**
+	 * Method to calculate the velocity with which a worm jumps
+	 *
+	 * @param actionPoints
+	 * 		The current amount of AP of the worm
+	 *
+	 * @param mass
+	 * 		The mass of the worm
+	 *
+	 * @return the force of the jump divided by the mass, times 0.5
+	 * 		| (5 * actionPoints + mass * G) / mass * 0.5
+	 */
+	public static double jumpVelocity(int actionPoints, double mass) {
+		return ((5 * actionPoints) + (mass * G)) / mass * 0.5;
+	}
+
+	/**
+	 * Method to calculate the time in the air for many jumps
+	 *
+	 * @param actionPoints
+	 * 		The current amount of AP of each worm
+	 *
+	 * @param masses
+	 * 		The mass of each worm
+	 *
+	 * @param angles
+	 * 		The angle each worm is facing
+	 *
+	 * @param times
+	 * 		The array in which the time in the air of each jump is stored
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the arrays do not all have the same length
+	 */
+	public static void jumpTimes(int[] actionPoints, double[] masses, double[] angles, double[] times)
+			throws IllegalArgumentException {
+		int n = actionPoints.length;
+		if (masses.length != n || angles.length != n || times.length != n)
+			throw new IllegalArgumentException("All arrays must have the same length");
+		for (int i = 0; i < n; i++)
+			times[i] = jumpTime(actionPoints[i], masses[i], angles[i]);
+	}
+
+	/**
+	 * Method to calculate the position of many worms at a given moment of their jump
+	 *
+	 * @param xs
+	 * 		The X-position of each worm before its jump
+	 *
+	 * @param ys
+	 * 		The Y-position of each worm before its jump
+	 *
+	 * @param actionPoints
+	 * 		The current amount of AP of each worm
+	 *
+	 * @param masses
+	 * 		The mass of each worm
+	 *
+	 * @param angles
+	 * 		The angle each worm is facing
+	 *
+	 * @param ts
+	 * 		The time since the start of each jump
+	 *
+	 * @param resultX
+	 * 		The array in which the X-position of each worm is stored
+	 *
+	 * @param resultY
+	 * 		The array in which the Y-position of each worm is stored
+	 *
+	 * @post
+	 * 		Like Worm.JumpStep, a worm that is not facing a direction between 0 and PI keeps its position
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the arrays do not all have the same length
+	 */
+	public static void jumpSteps(double[] xs, double[] ys, int[] actionPoints, double[] masses, double[] angles,
+			double[] ts, double[] resultX, double[] resultY) throws IllegalArgumentException {
+		int n = xs.length;
+		if (ys.length != n || actionPoints.length != n || masses.length != n || angles.length != n
+				|| ts.length != n || resultX.length != n || resultY.length != n)
+			throw new IllegalArgumentException("All arrays must have the same length");
+		double minAngle = -Util.DEFAULT_EPSILON;
+		double maxAngle = Math.PI + Util.DEFAULT_EPSILON;
+		for (int i = 0; i < n; i++) {
+			double angle = angles[i];
+			if (angle >= minAngle && angle <= maxAngle) {
+				double velocity = jumpVelocity(actionPoints[i], masses[i]);
+				double t = ts[i];
+				resultX[i] = xs[i] + (velocity * Math.cos(angle) * t);
+				resultY[i] = ys[i] + (velocity * Math.sin(angle) * t - 0.5 * G * t * t);
+			} else {
+				resultX[i] = xs[i];
+				resultY[i] = ys[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package worms.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A table of worm names, used to let worms with equal names share a single String.
+ * The table only refers weakly to its names, so that a name that no worm uses anymore
+ * is dropped from it by the garbage collector, and the table does not grow with every
+ * name that was ever given.
+ *
+ * @version 1.0
+ */
+public final class NameTable {
+
+	/**
+	 * The estimated size of a String object without its characters, in bytes
+	 * (object header, reference to the character array and hash)
+	 */
+	private static final int STRING_OVERHEAD = 24;
+
+	/**
+	 * The estimated size of the header of a character array, in bytes
+	 */
+	private static final int ARRAY_OVERHEAD = 16;
+
+	private static final Map<String, WeakReference<String>> names = new WeakHashMap<String, WeakReference<String>>();
+
+	private static long sharedCount;
+
+	private static long bytesSaved;
+
+	/* disable instantiations */
+	private NameTable() {
+	}
+
+	/**
+	 * This method returns the String of the table that is equal to the given name, adding the given
+	 * name to the table if there is none yet
+	 *
+	 * @param name
+	 * 		The name to look up
+	 *
+	 * @return
+	 * 		- null if name is null
+	 * 		- the String in the table equal to name otherwise
+	 * 			| result.equals(name)
+	 */
+	public static synchronized String intern(String name) {
+		if (name == null)
+			return null;
+		WeakReference<String> reference = names.get(name);
+		String shared = (reference == null) ? null : reference.get();
+		if (shared == null) {
+			names.put(name, new WeakReference<String>(name));
+			return name;
+		}
+		if (shared != name) {
+			sharedCount++;
+			bytesSaved += estimateSize(name);
+		}
+		return shared;
+	}
+
+	/**
+	 * This method estimates the number of bytes a String of the given name takes on the heap,
+	 * assuming a 64-bit virtual machine with compressed references
+	 *
+	 * @param name
+	 * 		The name of which the size is estimated
+	 */
+	public static long estimateSize(String name) {
+		long arraySize = ARRAY_OVERHEAD + 2L * name.length();
+		return STRING_OVERHEAD + ((arraySize + 7) / 8) * 8;
+	}
+
+	/**
+	 * This method recalls the number of different names in the table, including names that
+	 * are no longer used but have not been collected yet
+	 */
+	public static synchronized int size() {
+		return names.size();
+	}
+
+	/**
+	 * This method recalls the number of times a name was replaced by an equal String of the table
+	 */
+	public static synchronized long getSharedCount() {
+		return sharedCount;
+	}
+
+	/**
+	 * This method recalls the estimated number of bytes that were saved by sharing names,
+	 * as far as the replaced Strings are not referenced anywhere else
+	 */
+	public static synchronized long getBytesSaved() {
+		return bytesSaved;
+	}
+
+	/**
+	 * This method empties the table and forgets all statistics; worms keep the names they have
+	 */
+	public static synchronized void clear() {
+		names.clear();
+		sharedCount = 0;
+		bytesSaved = 0;
+	}
+}
@@ -0,0 +1,290 @@
+package worms.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A store that keeps the state of many worms outside of the Java heap, so that the garbage
+ * collector does not have to scan a Worm object for each of them.
+ *
+ * Every worm occupies a record of RECORD_SIZE bytes in a direct buffer, identified by its slot
+ * number. Slots of removed worms are kept in a free list and reused by the next worm that is added.
+ * Names are references and stay on the heap, in an array indexed by slot.
+ *
+ * To use the store with a facade, load(slot) copies a record into a single Worm owned by the
+ * store (a flyweight), which can be passed to any IFacade method; save(slot) copies the state of
+ * the flyweight back into the record:
+ *
+ * 		| Worm worm = store.load(slot);
+ * 		| facade.move(worm, 1);
+ * 		| store.save(slot);
+ *
+ * A store, including its flyweight, must only be used by one thread at a time.
+ *
+ * A load that gives the flyweight a different slot, or that undoes changes to the flyweight that
+ * were not saved, increases the version of the flyweight, so that a CachingFacade does not answer
+ * queries about one slot with the values of another. Loading the slot that the flyweight already
+ * holds keeps the version, and with it the cached values. Decorators that tell worms apart by identity
+ * alone see all slots as the same worm: a ConcurrentFacade guards all of them with a single lock,
+ * and WormChanges reports the changes of all slots as changes of the flyweight. Listeners of
+ * WormChanges cannot tell which slot changed, and should be given the slot by whoever saves it.
+ *
+ * @version 1.0
+ */
+public class OffHeapWormStore {
+
+	private static final int POS_X = 0;
+	private static final int POS_Y = 8;
+	private static final int ANGLE = 16;
+	private static final int RADIUS = 24;
+	private static final int CURRENT_AP = 32;
+
+	/**
+	 * For a free slot, the number of the next free slot (or NO_SLOT)
+	 */
+	private static final int NEXT_FREE = 36;
+
+	/**
+	 * The number of bytes of a single record
+	 */
+	public static final int RECORD_SIZE = 40;
+
+	/**
+	 * The largest number of worms a store can hold, so that the offset of every record fits in an int
+	 */
+	public static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE / RECORD_SIZE;
+
+	private static final int NO_SLOT = -1;
+
+	private ByteBuffer records;
+
+	private String[] names;
+
+	/**
+	 * The number of slots that have ever been used, free or not
+	 */
+	private int highWaterMark;
+
+	private int firstFree = NO_SLOT;
+
+	private int size;
+
+	private final Worm flyweight = new Worm(0, 0, Worm.minRadius, 0, "Flyweight");
+
+	/**
+	 * The slot of which the flyweight holds the state, or NO_SLOT if it may hold any other state
+	 */
+	private int loadedSlot = NO_SLOT;
+
+	/**
+	 * The version of the flyweight right after loadedSlot was loaded or saved
+	 */
+	private int loadedVersion;
+
+	/**
+	 * Creates an empty store
+	 *
+	 * @param initialCapacity
+	 * 		The number of worms the store can hold before it needs to grow
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the capacity is smaller than 1 or larger than MAXIMUM_CAPACITY
+	 */
+	public OffHeapWormStore(int initialCapacity) throws IllegalArgumentException {
+		if (initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		if (initialCapacity > MAXIMUM_CAPACITY)
+			throw new IllegalArgumentException("Capacity must be at most " + MAXIMUM_CAPACITY);
+		this.records = allocate(initialCapacity);
+		this.names = new String[initialCapacity];
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * This method returns the number of worms in the store
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This method returns the number of worms the store can hold before it needs to grow
+	 */
+	public int capacity() {
+		return names.length;
+	}
+
+	/**
+	 * This method returns whether the given slot holds a worm
+	 *
+	 * @param slot
+	 * 		The slot to inspect
+	 */
+	public boolean isOccupied(int slot) {
+		return slot >= 0 && slot < highWaterMark && names[slot] != null;
+	}
+
+	private void grow() throws IllegalStateException {
+		if (capacity() == MAXIMUM_CAPACITY)
+			throw new IllegalStateException("The store cannot hold more than " + MAXIMUM_CAPACITY + " worms");
+		int capacity = (int) Math.min(2L * capacity(), MAXIMUM_CAPACITY);
+		ByteBuffer newRecords = allocate(capacity);
+		records.clear();
+		newRecords.put(records);
+		records = newRecords;
+		String[] newNames = new String[capacity];
+		System.arraycopy(names, 0, newNames, 0, highWaterMark);
+		names = newNames;
+	}
+
+	/**
+	 * This method adds a worm with the given state to the store
+	 *
+	 * @return the slot of the new worm
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the name is null
+	 *
+	 * @throws IllegalStateException
+	 * 		If the store already holds MAXIMUM_CAPACITY worms
+	 */
+	public int add(double x, double y, double angle, double radius, int currentAP, String name)
+			throws IllegalArgumentException {
+		if (name == null)
+			throw new IllegalArgumentException("Name must not be null");
+		int slot;
+		if (firstFree != NO_SLOT) {
+			slot = firstFree;
+			firstFree = records.getInt(slot * RECORD_SIZE + NEXT_FREE);
+		} else {
+			if (highWaterMark == capacity())
+				grow();
+			slot = highWaterMark++;
+		}
+		names[slot] = NameTable.intern(name);
+		int offset = slot * RECORD_SIZE;
+		records.putDouble(offset + POS_X, x);
+		records.putDouble(offset + POS_Y, y);
+		records.putDouble(offset + ANGLE, angle);
+		records.putDouble(offset + RADIUS, radius);
+		records.putInt(offset + CURRENT_AP, currentAP);
+		size++;
+		return slot;
+	}
+
+	/**
+	 * This method adds a copy of the state of the given worm to the store
+	 *
+	 * @return the slot of the new worm
+	 */
+	public int add(Worm worm) {
+		return add(worm.getPosX(), worm.getPosY(), worm.getAngle(), worm.getRadius(), worm.getCurrentAP(),
+				worm.getName());
+	}
+
+	/**
+	 * This method removes the worm in the given slot, so that the slot can be reused
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the slot does not hold a worm
+	 */
+	public void remove(int slot) throws IllegalArgumentException {
+		checkOccupied(slot);
+		names[slot] = null;
+		if (slot == loadedSlot)
+			loadedSlot = NO_SLOT;
+		records.putInt(slot * RECORD_SIZE + NEXT_FREE, firstFree);
+		firstFree = slot;
+		size--;
+	}
+
+	private void checkOccupied(int slot) throws IllegalArgumentException {
+		if (!isOccupied(slot))
+			throw new IllegalArgumentException("Slot " + slot + " does not hold a worm");
+	}
+
+	/**
+	 * This method copies the state of the worm in the given slot into the flyweight worm of this store
+	 *
+	 * @return the flyweight worm, which is reused by every call of this method
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the slot does not hold a worm
+	 */
+	public Worm load(int slot) throws IllegalArgumentException {
+		checkOccupied(slot);
+		int offset = slot * RECORD_SIZE;
+		flyweight.assignState(records.getDouble(offset + POS_X), records.getDouble(offset + POS_Y),
+				records.getDouble(offset + ANGLE), records.getDouble(offset + RADIUS),
+				records.getInt(offset + CURRENT_AP), names[slot]);
+		if (slot != loadedSlot || flyweight.getVersion() != loadedVersion)
+			flyweight.increaseVersion();
+		loadedSlot = slot;
+		loadedVersion = flyweight.getVersion();
+		return flyweight;
+	}
+
+	/**
+	 * This method copies the state of the flyweight worm of this store into the given slot
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the slot does not hold a worm
+	 */
+	public void save(int slot) throws IllegalArgumentException {
+		checkOccupied(slot);
+		int offset = slot * RECORD_SIZE;
+		records.putDouble(offset + POS_X, flyweight.getPosX());
+		records.putDouble(offset + POS_Y, flyweight.getPosY());
+		records.putDouble(offset + ANGLE, flyweight.getAngle());
+		records.putDouble(offset + RADIUS, flyweight.getRadius());
+		records.putInt(offset + CURRENT_AP, flyweight.getCurrentAP());
+		names[slot] = flyweight.getName();
+		loadedSlot = slot;
+		loadedVersion = flyweight.getVersion();
+	}
+
+	/**
+	 * This method recalls the X-position of the worm in the given slot
+	 */
+	public double getPosX(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + POS_X);
+	}
+
+	/**
+	 * This method recalls the Y-position of the worm in the given slot
+	 */
+	public double getPosY(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + POS_Y);
+	}
+
+	/**
+	 * This method recalls the angle of the worm in the given slot
+	 */
+	public double getAngle(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + ANGLE);
+	}
+
+	/**
+	 * This method recalls the radius of the worm in the given slot
+	 */
+	public double getRadius(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + RADIUS);
+	}
+
+	/**
+	 * This method recalls the current amount of AP of the worm in the given slot
+	 */
+	public int getCurrentAP(int slot) {
+		return records.getInt(slot * RECORD_SIZE + CURRENT_AP);
+	}
+
+	/**
+	 * This method recalls the name of the worm in the given slot
+	 */
+	public String getName(int slot) {
+		return names[slot];
+	}
+}
@@ -0,0 +1,132 @@
+package worms.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class that keeps track of the validation mode of a group of worms, such as the worms of
+ * a WormWorld, and of the class invariant violations that were found while sampling them.
+ * Worms that do not follow any Validation check all values they are given.
+ *
+ * @version 1.0
+ */
+public final class Validation {
+
+	/**
+	 * The number of changes between two verifications of the class invariants in SAMPLED mode
+	 */
+	public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+	private volatile ValidationMode mode = ValidationMode.FULL;
+
+	private volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+	private final AtomicLong changeCount = new AtomicLong();
+
+	private final AtomicLong sampleCount = new AtomicLong();
+
+	private final AtomicLong violationCount = new AtomicLong();
+
+	private volatile String lastViolation;
+
+	/**
+	 * This method recalls the validation mode used by the worms that follow this validation
+	 */
+	public ValidationMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * This method sets the validation mode used by the worms that follow this validation
+	 *
+	 * @param mode
+	 * 		The new validation mode
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the mode is null
+	 */
+	public void setMode(ValidationMode mode) throws IllegalArgumentException {
+		if (mode == null)
+			throw new IllegalArgumentException("Validation mode must not be null");
+		this.mode = mode;
+	}
+
+	/**
+	 * This method recalls the number of changes between two verifications of the class invariants in SAMPLED mode
+	 */
+	public int getSampleInterval() {
+		return sampleInterval;
+	}
+
+	/**
+	 * This method sets the number of changes between two verifications of the class invariants in SAMPLED mode
+	 *
+	 * @param sampleInterval
+	 * 		The new number of changes, 1 verifies the invariants after every change
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the interval is smaller than 1
+	 */
+	public void setSampleInterval(int sampleInterval) throws IllegalArgumentException {
+		if (sampleInterval < 1)
+			throw new IllegalArgumentException("Sample interval must be at least 1");
+		this.sampleInterval = sampleInterval;
+	}
+
+	/**
+	 * This method recalls the number of times the class invariants were verified in SAMPLED mode
+	 */
+	public long getSampleCount() {
+		return sampleCount.get();
+	}
+
+	/**
+	 * This method recalls the number of verifications in SAMPLED mode that found a violated class invariant
+	 */
+	public long getViolationCount() {
+		return violationCount.get();
+	}
+
+	/**
+	 * This method recalls the description of the last violated class invariant, or null if none was found
+	 */
+	public String getLastViolation() {
+		return lastViolation;
+	}
+
+	/**
+	 * This method forgets all counted verifications and violations
+	 */
+	public void resetStatistics() {
+		changeCount.set(0);
+		sampleCount.set(0);
+		violationCount.set(0);
+		lastViolation = null;
+	}
+
+	/**
+	 * This method returns whether new values must be checked before they are stored
+	 */
+	boolean isCheckingValues() {
+		return mode == ValidationMode.FULL;
+	}
+
+	/**
+	 * This method is told about every change of a worm, and verifies the class invariants of that worm
+	 * once every getSampleInterval() changes in SAMPLED mode
+	 *
+	 * @param worm
+	 * 		The worm that has changed
+	 */
+	void changed(Worm worm) {
+		if (mode != ValidationMode.SAMPLED)
+			return;
+		if (changeCount.incrementAndGet() % sampleInterval != 0)
+			return;
+		sampleCount.incrementAndGet();
+		String violation = worm.findInvariantViolation();
+		if (violation != null) {
+			violationCount.incrementAndGet();
+			lastViolation = violation;
+		}
+	}
+}
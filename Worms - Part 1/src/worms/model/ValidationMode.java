@@ -0,0 +1,27 @@
+package worms.model;
+
+/**
+ * An enumeration of the ways in which worms check the values they are given.
+ *
+ * @version 1.0
+ */
+public enum ValidationMode {
+
+	/**
+	 * Every value is checked before it is stored, and an invalid value is refused by throwing
+	 * IllegalArgumentException
+	 */
+	FULL,
+
+	/**
+	 * Values are stored without being checked, but once every getSampleInterval() changes
+	 * the class invariants of the changed worm are verified, and violations are reported through
+	 * getViolationCount() and getLastViolation() of the Validation
+	 */
+	SAMPLED,
+
+	/**
+	 * Values are stored without being checked, for bulk operations of which the values are known to be valid
+	 */
+	TRUSTED
+}
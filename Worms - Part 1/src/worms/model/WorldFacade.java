@@ -0,0 +1,244 @@
+package worms.model;
+
+/**
+ * A facade that keeps the state of its worms in a WormWorld.
+ *
+ * Queries about a worm are answered from the component arrays of the world. Changes
+ * are made by loading the components into the handle of the worm, letting the
+ * underlying facade change the handle, and storing the handle again, so that the rules
+ * of the game are only implemented once.
+ *
+ * @version 1.0
+ */
+public class WorldFacade implements IFacade {
+
+	/**
+	 * The facade that applies the rules of the game to the loaded handles
+	 */
+	private final IFacade facade;
+
+	private final WormWorld world;
+
+	/**
+	 * Creates a facade that stores its worms in the given world
+	 *
+	 * @param world
+	 * 		The world in which the worms are stored
+	 */
+	public WorldFacade(WormWorld world) {
+		this(new Facade(), world);
+	}
+
+	/**
+	 * Creates a facade that stores its worms in the given world and lets the given facade apply the rules
+	 *
+	 * @param facade
+	 * 		The facade that creates and changes the handles of the worms
+	 *
+	 * @param world
+	 * 		The world in which the worms are stored
+	 */
+	public WorldFacade(IFacade facade, WormWorld world) {
+		this.facade = facade;
+		this.world = world;
+	}
+
+	/**
+	 * This method returns the world in which this facade stores its worms
+	 */
+	public WormWorld getWorld() {
+		return world;
+	}
+
+	/**
+	 * This method returns the world behind the given facade, looking through the facades
+	 * that are stacked on top of a WorldFacade, or null if there is no such world
+	 */
+	public static WormWorld findWorld(IFacade facade) {
+		while (true) {
+			if (facade instanceof WorldFacade)
+				return ((WorldFacade) facade).getWorld();
+			else if (facade instanceof CachingFacade)
+				facade = ((CachingFacade) facade).getFacade();
+			else if (facade instanceof ConcurrentFacade)
+				facade = ((ConcurrentFacade) facade).getFacade();
+			else
+				return null;
+		}
+	}
+
+	/**
+	 * This method returns the entity number of the given worm
+	 *
+	 * @throws ModelException
+	 * 		If the worm was not created by this facade
+	 */
+	private int entityOf(Worm worm) throws ModelException {
+		int entity = world.getEntity(worm);
+		if (entity < 0)
+			throw new ModelException("Not a worm of this world");
+		return entity;
+	}
+
+	private Worm load(Worm worm) throws ModelException {
+		return world.load(entityOf(worm));
+	}
+
+	@Override
+	public Worm createWorm(double x, double y, double direction, double radius,
+			String name) {
+		if (facade.getClass() == Facade.class)
+			// a Facade only constructs the worm, which the world does without the checks its validation skips
+			return world.create(x, y, radius, direction, name);
+		Worm worm = facade.createWorm(x, y, direction, radius, name);
+		if (worm != null)
+			world.add(worm);
+		return worm;
+	}
+
+	@Override
+	public boolean canMove(Worm worm, int nbSteps) {
+		return facade.canMove(load(worm), nbSteps);
+	}
+
+	@Override
+	public void move(Worm worm, int nbSteps) {
+		int entity = entityOf(worm);
+		try {
+			facade.move(world.load(entity), nbSteps);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public boolean canTurn(Worm worm, double angle) {
+		return facade.canTurn(load(worm), angle);
+	}
+
+	@Override
+	public void turn(Worm worm, double angle) {
+		int entity = entityOf(worm);
+		try {
+			facade.turn(world.load(entity), angle);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public void jump(Worm worm) {
+		int entity = entityOf(worm);
+		try {
+			facade.jump(world.load(entity));
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public double getJumpTime(Worm worm) {
+		return facade.getJumpTime(load(worm));
+	}
+
+	@Override
+	public double[] getJumpStep(Worm worm, double t) {
+		return facade.getJumpStep(load(worm), t);
+	}
+
+	@Override
+	public double getX(Worm worm) {
+		return world.getPosX()[entityOf(worm)];
+	}
+
+	@Override
+	public double getY(Worm worm) {
+		return world.getPosY()[entityOf(worm)];
+	}
+
+	@Override
+	public double getOrientation(Worm worm) {
+		return world.getAngle()[entityOf(worm)];
+	}
+
+	@Override
+	public double getRadius(Worm worm) {
+		return world.getRadius()[entityOf(worm)];
+	}
+
+	@Override
+	public void setRadius(Worm worm, double newRadius) {
+		int entity = entityOf(worm);
+		try {
+			facade.setRadius(world.load(entity), newRadius);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public double getMinimalRadius(Worm worm) {
+		return facade.getMinimalRadius(worm);
+	}
+
+	@Override
+	public int getActionPoints(Worm worm) {
+		return world.getCurrentAP()[entityOf(worm)];
+	}
+
+	@Override
+	public int getMaxActionPoints(Worm worm) {
+		return world.getMaxAP()[entityOf(worm)];
+	}
+
+	@Override
+	public String getName(Worm worm) {
+		return world.getNames()[entityOf(worm)];
+	}
+
+	@Override
+	public void rename(Worm worm, String newName) {
+		int entity = entityOf(worm);
+		try {
+			facade.rename(world.load(entity), newName);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public double getMass(Worm worm) {
+		return world.getMass()[entityOf(worm)];
+	}
+
+	@Override
+	public ActionStatus tryMove(Worm worm, int nbSteps) {
+		int entity = entityOf(worm);
+		try {
+			return facade.tryMove(world.load(entity), nbSteps);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public ActionStatus tryTurn(Worm worm, double angle) {
+		int entity = entityOf(worm);
+		try {
+			return facade.tryTurn(world.load(entity), angle);
+		} finally {
+			world.store(entity);
+		}
+	}
+
+	@Override
+	public ActionStatus tryJump(Worm worm) {
+		int entity = entityOf(worm);
+		try {
+			return facade.tryJump(world.load(entity));
+		} finally {
+			world.store(entity);
+		}
+	}
+
+}
@@ -47,15 +47,9 @@ public class Worm {
 	     
 	     
 	     /**
-	      *   The minimal radius a worm has to be in meter (0.25m)
+	      *   The minimal radius a worm has to be in meter (0.25m), the same for all worms
 	      */
-	     public final double minRadius = 0.25;
-	     
-	     
-	     /**
-	      *   The mass a worm has in kilogram
-	      */
-	     private double mass;
+	     public static final double minRadius = 0.25;
 	     
 	     
 	     /**
@@ -70,13 +64,6 @@ public class Worm {
 	     private int currentAP;
 	     
 	     
-	     /**
-	      *   The maximum amount of action points a worm has
-	      */
-	     private int maxAP;
-
-	     
-	     
 	     /**
 	      *   The name a worm has been given
 	      */
@@ -84,33 +71,21 @@ public class Worm {
 	     
 	     
 	     /**
-	      *   The earth acceleration (9.80665)
-	      */
-         private final double g = 9.80665;
-	     
-	     
-         /**
-	      *   The force with which a worm jumps
-	      */
-	     private double force;
-	     
-	     
-	     /**
-	      *   The velocity with which a worm jumps
+	      *   The number of changes the worm has gone through
 	      */
-	     private double velocity;
+	     private int version;
 	     
 	     
 	     /**
-	      *   The distance a worm jumps in meter
+	      *   The validation the worm follows, or null if the worm checks all values it is given
 	      */
-	     private double distance;
+	     private Validation validation;
 	     
 	     
 	     /**
-	      *   The time a worm is in the air
+	      *   The earth acceleration (9.80665), the same for all worms
 	      */
-	     private double time;
+         private static final double g = JumpEvaluator.G;
 
          
 	     /**
@@ -174,6 +149,35 @@ public class Worm {
                 this.setCurrentAP((int)Math.round(this.getMass()));
         }
         
+        /**
+         * Creates a worm without any values, to be given its state by createUnchecked
+         */
+        @Model @Raw
+        private Worm() {
+        }
+        
+        /**
+         * Method to create a worm like the constructor does, but without checking the given values and
+         * without announcing the values as changes, used by WormWorld when its validation does not check
+         * values, so that creating a worm costs as little as storing it
+         * 
+         * @post
+         * 		| result.getPosX() == x
+         * 		| result.getPosY() == y
+         * 		| result.getRadius() == radius
+         * 		| result.getAngle() == angle
+         * 		| result.getName() == NameTable.intern(name)
+         * 		| result.getCurrentAP() == (int)Math.round(result.getMass())
+         * 		| result.getVersion() == 0
+         */
+        @Model
+        static Worm createUnchecked(double x, double y, double radius, double angle, String name) {
+                Worm worm = new Worm();
+                worm.assignState(x, y, angle, radius, 0, NameTable.intern(name));
+                worm.currentAP = (int)Math.round(worm.getMass());
+                return worm;
+        }
+        
         /**
          * Method to calculate the cost of moving in the direction the worm is facing
          * 
@@ -186,9 +190,23 @@ public class Worm {
          */
         public int calculateApCostMove (int nbSteps) {
                
-                int cost = (int) Math.ceil((Math.abs(Math.cos(this.getAngle())) + 4*Math.abs(Math.sin(this.getAngle())))*nbSteps);
+                int cost = (int) Math.ceil(calculateMoveCostFactor(this.getAngle())*nbSteps);
                 return cost;
         }
+        
+        /**
+         * Method to calculate the cost of a single step in a given direction, before rounding
+         * 
+         * @param angle
+         * 		The direction in which the step is taken
+         * 
+         * @return
+         * 		The cost of one step
+         * 			| |cos(angle)| + 4*|sin(angle)|
+         */
+        public static double calculateMoveCostFactor (double angle) {
+                return Math.abs(Math.cos(angle)) + 4*Math.abs(Math.sin(angle));
+        }
        
         
         /**
@@ -201,7 +219,8 @@ public class Worm {
          * 		The cost of the turn
          * 			| cost = (int) Math.ceil( |angle|*60 / 2*PI )
          */
-        public int calculateApCostTurn (double angle){
+        public static int calculateApCostTurn (double angle){
+
         	int cost = (int) Math.ceil(Math.abs(angle)*60/(2*Math.PI));
         	return cost;
         }
@@ -224,11 +243,31 @@ public class Worm {
 		 * 			| calculateApCostMove(nbSteps) > this.getCurrentAP()
 		 */
 		public boolean isValidMovement (int nbSteps) throws IllegalArgumentException{
+            ActionStatus status = checkMovement(nbSteps);
+            if (!status.isValid())
+            	throw new IllegalArgumentException(status.getMessage());
+            return true;          
+		    }
+		
+		/**
+		 * Method to inspect whether the movement we try to make is a valid one, without throwing an exception
+		 * 
+		 * @param nbSteps
+		 * 		Amount of steps the worm tries to move
+		 * 
+		 * @return
+		 * 		- NEGATIVE_STEPS if the amount of steps is smaller than zero
+		 * 			| nbSteps < 0
+		 * 		- INSUFFICIENT_AP if the cost of the movement is bigger than the current amount of AP
+		 * 			| calculateApCostMove(nbSteps) > this.getCurrentAP()
+		 * 		- VALID otherwise
+		 */
+		public ActionStatus checkMovement (int nbSteps) {
             if (nbSteps < 0)
-            	throw new IllegalArgumentException("Not a valid amount for Steps");
+            	return ActionStatus.NEGATIVE_STEPS;
             if (calculateApCostMove(nbSteps) > this.getCurrentAP())
-            	throw new IllegalArgumentException("Not enough AP");
-            return true;          
+            	return ActionStatus.INSUFFICIENT_AP;
+            return ActionStatus.VALID;
 		    }
 		   
 		/**
@@ -247,14 +286,54 @@ public class Worm {
 		 * 			| calculateApCostTurn(angle) < this.getCurrentAP()
 		 */
 		public boolean isValidTurn(double angle) throws IllegalArgumentException {
+			ActionStatus status = checkTurn(angle);
+			if (!status.isValid())
+				throw new IllegalArgumentException(status.getMessage());
+		    return true;
+		    }            
+		
+		/**
+		 * Method to inspect whether the turn we try to make is a valid one, without throwing an exception
+		 * 
+		 * @param angle
+		 * 		The angle we try to achieve
+		 * 			If it surpasses the value of PI, we reset it to PI
+		 * 			If it surpasses the value of -PI, we reset it to -PI
+		 * 
+		 * @return
+		 * 		- INSUFFICIENT_AP if the cost of the turn is bigger than the current amount of AP
+		 * 			| calculateApCostTurn(angle) > this.getCurrentAP()
+		 * 		- VALID otherwise
+		 */
+		public ActionStatus checkTurn(double angle) {
 			if (angle > Math.PI)
 				angle = Math.PI;
 			if (angle < -Math.PI)
 				angle = -Math.PI;
 			if (this.getCurrentAP() < calculateApCostTurn(angle))
-				throw new IllegalArgumentException("Not enough AP");
-		    return true;
-		    }            
+				return ActionStatus.INSUFFICIENT_AP;
+		    return ActionStatus.VALID;
+		    }
+		
+		/**
+		 * Method to inspect whether a jump would move the worm, without throwing an exception
+		 * 
+		 * @return
+		 * 		- INSUFFICIENT_AP if the worm has no AP left
+		 * 			| this.getCurrentAP() == 0
+		 * 		- INVALID_DIRECTION if the worm is not facing a direction between 0 and PI
+		 * 			| this.getAngle() < 0
+		 * 			| this.getAngle() > Math.PI
+		 * 		- VALID otherwise
+		 */
+		public ActionStatus checkJump() {
+			if (this.getCurrentAP() == 0)
+				return ActionStatus.INSUFFICIENT_AP;
+			if (!Util.fuzzyBetween(0, this.getAngle(), Math.PI))
+				return ActionStatus.INVALID_DIRECTION;
+
+			return ActionStatus.VALID;
+		    }
 		   
 		    
 		/**
@@ -294,17 +373,55 @@ public class Worm {
 		 * 			| !name.matches("[a-zA-Z'\" ]*"))
 		 */
 		public boolean isValidName(String name) throws IllegalArgumentException {
+		        ActionStatus status = checkName(name);
+		        if (!status.isValid())
+		        	throw new IllegalArgumentException(status.getMessage());
+		                               return true;
+		                               
+		                        }
+		
+		/**
+		 * Method to inspect whether the name we try to give to the worm is a valid one, without throwing an exception
+		 * 
+		 * @param name
+		 * 		The name of the worm
+		 * 
+		 * @return
+		 * 		- NAME_TOO_SHORT if the name is shorter than 2 characters
+		 * 			| name.length() < 2
+		 * 		- NAME_NOT_CAPITALIZED if the name does not start with an uppercase character
+		 * 			| !Character.isUpperCase(name.charAt(0))
+		 * 		- NAME_INVALID_CHARACTER if the name does not consist of letters, spaces, single or double quotes
+		 * 			| !name.matches("[a-zA-Z'\" ]*"))
+		 * 		- VALID otherwise
+		 */
+		public ActionStatus checkName(String name) {
 		        if (name.length() < 2)
-		        	throw new IllegalArgumentException("Not enough characters");
+		        	return ActionStatus.NAME_TOO_SHORT;
 		       
 		        if (!Character.isUpperCase(name.charAt(0)))
-		        	throw new IllegalArgumentException("Not starting with uppercase character");
+		        	return ActionStatus.NAME_NOT_CAPITALIZED;
 		       
-		        if (!name.matches("[a-zA-Z'\" ]*"))
-		        	throw new IllegalArgumentException("Not a valid character");
-		                               return true;
-		                               
+		        for (int i = 0; i < name.length(); i++)
+		        	if (!isValidNameCharacter(name.charAt(i)))
+		        		return ActionStatus.NAME_INVALID_CHARACTER;
+		        return ActionStatus.VALID;
 		                        }
+		
+		/**
+		 * Method to inspect whether a character may be used in the name of a worm, without compiling a regular expression
+		 * 
+		 * @param c
+		 * 		The character to inspect
+		 * 
+		 * @return
+		 * 		true if the character is a letter from a to z (lower- or uppercase), a space or a single or double quote
+		 * 			| String.valueOf(c).matches("[a-zA-Z'\" ]")
+		 */
+		private static boolean isValidNameCharacter(char c) {
+		        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == ' ' || c == '\'' || c == '"';
+		}
+
 		 
 		                       
 		/**
@@ -402,14 +519,15 @@ public class Worm {
 		   
 		  
 		public void Move(int nbSteps)  throws IllegalArgumentException {
+		        if(isValidMovement(nbSteps) != true)                                    
+		            throw new IllegalArgumentException("You cannot do another step, you don't have enough Action Points");
+		        
 		        this.setPosX(getPosX() + (nbSteps * getRadius()) * Math.cos(this.getAngle()));
 		        this.setPosY(getPosY() + (nbSteps * getRadius()) * Math.sin(this.getAngle()));
 		        this.setCurrentAP( this.getCurrentAP() - calculateApCostMove(nbSteps) );
-		        
-		        if(isValidMovement(nbSteps) != true)                                    
-		            throw new IllegalArgumentException("You cannot do another step, you don't have enough Action Points");
 		           
 		   }
+
 		   
 		/**
 		 * The method to turn the worm to a certain new direction if he has enough action points to do so.
@@ -433,6 +551,8 @@ public class Worm {
 		                   
 		            this.angle = this.getAngle() + newangle;
 		            this.currentAP = this.getCurrentAP() - calculateApCostTurn(Math.abs(newangle - this.angle));    
+		            changed(WormChange.TURNED);
+		            changed(WormChange.AP_CHANGED);
 		                   
 		    }
 		   
@@ -457,36 +577,15 @@ public class Worm {
 		 * The method to calculate the time the worm is in the air
 		 *                     
 		 * @return 	
-		 * 		- this.getTime() if the worm has enough AP
+		 * 		- the distance of the jump divided by the horizontal velocity if the worm has enough AP
 		 * 			| !this.getCurrentAP == 0
+		 * 			| result == this.getDistance() / (this.getVelocity() * cos(this.getAngle()))
 		 * 		- 0.0 if there is not enough AP left
 		 * 			| this.getCurrentAP == 0
-		 * 
-		 * @post
-		 * 		If the worm still has AP, we set the force, velocity, density and time to their calculated values
-		 * 		| new.getForce() == (5*this.getCurrentAP() + this.getMass() * g)
-		 * 		| new.getVelocity() == (this.getForce() / this.getMass() * 0.5)
-		 * 		| new.getDistance() == ((this.getVelocity * sin(2*this.getAngle()) / g)
-		 * 		| new.getTime() == (this.getDistance() / (this.getVelocity() * cos(this.getAngle()) )
-		 * 
-		 * 		If the worm does not have enough AP, we set the amount of time in the air to zero
-		 * 		| new.getTime() == 0.0
 		 */
         public double JumpTime(){
-		    	if (this.getCurrentAP() != 0){
-		        	
-		        	this.setForce((5 * this.getCurrentAP()) + (this.getMass() * g));
-		            this.setVelocity(this.getForce()/this.getMass()*0.5);
-		            this.setDistance( (Math.pow(this.getVelocity(), 2) * Math.sin(2*this.getAngle()) ) / g);
-		            this.setTime(this.getDistance() / (this.getVelocity() * Math.cos(this.getAngle()) ) );
-		            return this.getTime();
-		            
-		            }
-		    else {
-		    	return 0.0;
+		    	return JumpEvaluator.jumpTime(this.getCurrentAP(), this.getMass(), this.getAngle());
 		    }
-		    }
-		
 		   
 		    
 		/**
@@ -520,8 +619,7 @@ public class Worm {
 		        double y = this.getPosY() + (velocityY * DeltaT - 0.5*g*Math.pow(DeltaT, 2));
 		        double jumpstep[] = new double[] {x,y};
 		        
-		        if (Util.fuzzyLessThanOrEqualTo(0, this.getAngle())
-					&& (Util.fuzzyLessThanOrEqualTo(this.getAngle(), Math.PI)))
+		        if (Util.fuzzyBetween(0, this.getAngle(), Math.PI))
 		        	return jumpstep;
 		        
 		        else {
@@ -541,7 +639,7 @@ public class Worm {
 		 */
         @Basic @Raw
 	    public int getMaxAP() {
-	            return maxAP = (int)Math.ceil(this.getMass());
+	            return (int)Math.ceil(this.getMass());
 	    }
 		   
 		    
@@ -570,6 +668,7 @@ public class Worm {
         @Basic @Model
 	    public void setAngle(double angle) {
         	this.angle = angle;
+        	changed(WormChange.TURNED);
 		    }
 		   
 		   
@@ -589,8 +688,8 @@ public class Worm {
 		 * 		The radius a worm has been given in meters
 		 * 
 		 * * @throws IllegalArgumentException
-		 * 		If the value for radius is not a valid one
-		 * 		| !isValidRadius(radius)
+		 * 		If values are checked and the value for radius is not a valid one
+		 * 		| isCheckingValues() && !isValidRadius(radius)
 		 * 
 		 * @post 
 		 * 		Sets the value of the worms radius to a newly calculated or given radius
@@ -598,9 +697,10 @@ public class Worm {
 		 */
 		@Basic @Model
 		public void setRadius(double radius) throws IllegalArgumentException {
-			if (!isValidRadius(radius))
+			if (isCheckingValues() && !isValidRadius(radius))
 					throw new IllegalArgumentException("Radius is not valid");
 	        this.radius = radius;
+	        changed(WormChange.RESIZED);
 		}
 		
 		
@@ -630,8 +730,8 @@ public class Worm {
 		 * 		The X-position of the worm in meters
 		 * 
 		 * @throws IllegalArgumentException
-		 * 		If the value for x is not a valid one
-		 * 		| !isValidPosition(x,this.getPosY())
+		 * 		If values are checked and the value for x is not a valid one
+		 * 		| isCheckingValues() && !isValidPosition(x,this.getPosY())
 		 * 
 		 * @post 
 		 * 		Sets the value of the worms X-position to a newly calculated or given X-position
@@ -639,9 +739,10 @@ public class Worm {
 		 */
 		@Basic @Model
 	    public void setPosX(double x) throws IllegalArgumentException {
-			if (!isValidPosition(x,this.getPosY()))
+			if (isCheckingValues() && !isValidPosition(x,this.getPosY()))
 				throw new IllegalArgumentException("Position is not valid");
 	        this.posX = x;
+	        changed(WormChange.MOVED);
 		    }
 		   
 		   
@@ -661,8 +762,8 @@ public class Worm {
 		 * 		The Y-position of the worm in meters
 		 * 
 		 * @throws IllegalArgumentException
-		 * 		If the value for y is not a valid one
-		 * 		| !isValidPosition(this.getPosX(),y)
+		 * 		If values are checked and the value for y is not a valid one
+		 * 		| isCheckingValues() && !isValidPosition(this.getPosX(),y)
 		 * 
 		 * @post 
 		 * 		Sets the value of the worms Y-position to a newly calculated or given Y-position
@@ -670,9 +771,10 @@ public class Worm {
 		 */
 		@Basic @Model
 	    public void setPosY(double y) throws IllegalArgumentException{
-			if (!isValidPosition(this.getPosX(),y))
+			if (isCheckingValues() && !isValidPosition(this.getPosX(),y))
 					throw new IllegalArgumentException("Position is not valid");
 	        this.posY = y;
+	        changed(WormChange.MOVED);
 		    }
 		   
 		   
@@ -692,8 +794,8 @@ public class Worm {
 		 * 		The current amount of AP a worm has
 		 * 
 		 * @throws IllegalArgumentException
-		 * 		If the value of currentAP is not a valid one
-		 * 		| !isValidAP(currentAP)
+		 * 		If values are checked and the value of currentAP is not a valid one
+		 * 		| isCheckingValues() && !isValidAP(currentAP)
 		 * 
 		 * @post
 		 * 		Sets the value of the worms current AP to the newly calculated or given current AP
@@ -701,9 +803,10 @@ public class Worm {
 		 */
 		@Basic @Model
 	    public void setCurrentAP(int currentAP) throws IllegalArgumentException{
-			if (!isValidAP(currentAP))
+			if (isCheckingValues() && !isValidAP(currentAP))
 				throw new IllegalArgumentException("Current AP is not valid");
 			this.currentAP = currentAP;
+			changed(WormChange.AP_CHANGED);
 		    }
 		   
 		   
@@ -724,116 +827,194 @@ public class Worm {
 		 * 
 		 * @throws IllegalArgumentException
 		 * 		If the name of the worm does not follow his constraints of being longer than 2 characters, starting with an uppercase character and consisting
-		 * 		only of letters, single or double quotes and spaces
-		 * 		| !isValidName(name)
+		 * 		only of letters, single or double quotes and spaces, if values are checked
+		 * 		| isCheckingValues() && !isValidName(name)
 		 * 
 		 * @post
-		 * 		Sets the value of the worms name to a newly given name if this name is valid
-		 * 		| new.getName() == name
+		 * 		Sets the value of the worms name to a newly given name if this name is valid, sharing the String
+		 * 		with other worms that have an equal name
+		 * 		| new.getName() == NameTable.intern(name)
 		 */
 		@Basic @Model
 		public void setName (String name) throws IllegalArgumentException {
-		                if (isValidName(name) == false)
+		                if (isCheckingValues() && isValidName(name) == false)
 		                        throw new IllegalArgumentException("Your name has some invalid characters included");
-		            this.name = name;
+		            this.name = NameTable.intern(name);
+		            changed(WormChange.RENAMED);
 		    }                      
-		   
-		    
+		
 		/**
-		 * This method recalls the force with which a worm jumps
+		 * This method recalls the number of changes the worm has gone through: as long as it
+		 * stays the same, none of the values of the worm have changed
 		 */
 		@Basic @Raw
-		public double getForce() {
-		        return force;
+		public int getVersion() {
+			return version;
+		}
+		
+		/**
+		 * This method recalls the validation the worm follows, or null if it checks all values it is given
+		 */
+		@Basic @Raw
+		public Validation getValidation() {
+			return validation;
 		}
 		
 		/**
-		 * This method sets the value for the force with which a worm jumps
+		 * This method lets the worm follow the given validation, used by WormWorld to let all its worms
+		 * follow the validation mode of the world
 		 * 
-		 * @param force
-		 * 		The force with which a worm jumps
+		 * @param validation
+		 * 		The validation to follow, or null to check all values the worm is given
 		 * 
-		 * @post 
-		 * 		Sets the value of the force with which a worm jumps to the newly calculated or given force
-		 * 		| new.getForce() == force
+		 * @post
+		 * 		| new.getValidation() == validation
 		 */
-		@Basic @Model
-	    public void setForce(double force) {
-	            this.force = force;
-		    }
-		   
-		   
-		    
+		@Basic @Raw
+		public void setValidation(Validation validation) {
+			this.validation = validation;
+		}
+		
 		/**
-		 * This method recalls the value of the velocity with which a worm jumps
+		 * Method to tell whether new values must be checked before they are stored
+		 * 
+		 * @return
+		 * 		| getValidation() == null || getValidation().getMode() == ValidationMode.FULL
 		 */
-		@Basic @Raw
-		public double getVelocity() {
-		        return velocity;
+		@Model
+		private boolean isCheckingValues() {
+			return validation == null || validation.isCheckingValues();
 		}
 		
 		/**
-		 * This method sets the value for the velocity with which a worm jumps
+		 * Method to announce a change of the worm, to its validation and to the listeners of WormChanges
 		 * 
-		 * @param velocity
-		 * 		the velocity with which a worm jumps
+		 * @param change
+		 * 		The kind of change the worm went through
 		 * 
 		 * @post
-		 * 		Sets the value of velocity with which a worm jumps to the newly calculated or given velocity
-		 * 		| new.getVelocity() == velocity
+		 * 		| new.getVersion() == this.getVersion() + 1
+		 */
+		@Model
+		private void changed(WormChange change) {
+			version++;
+			if (validation != null)
+				validation.changed(this);
+			WormChanges.record(this, change);
+		}
+		
+		/**
+		 * Method to give the worm a complete state at once, without any checks, used to let one worm
+		 * represent worms that are stored elsewhere (see WormWorld and OffHeapWormStore); the version
+		 * is left alone, so whoever gives the worm a state that differs from its current one must
+		 * also call increaseVersion()
+		 * 
+		 * @post
+		 * 		| new.getVersion() == this.getVersion()
+		 * 		| new.getPosX() == x
+		 * 		| new.getPosY() == y
+		 * 		| new.getAngle() == angle
+		 * 		| new.getRadius() == radius
+		 * 		| new.getCurrentAP() == currentAP
+		 * 		| new.getName() == name
 		 */
-		@Basic @Model
-	    public void setVelocity(double velocity) {
-	            this.velocity = velocity;
-		    }
-		   
-		   
-		    
+		@Model @Raw
+		void assignState(double x, double y, double angle, double radius, int currentAP, String name) {
+			this.posX = x;
+			this.posY = y;
+			this.angle = angle;
+			this.radius = radius;
+			this.currentAP = currentAP;
+			this.name = name;
+		}
+		
 		/**
-		 * This method recalls the value of the distance a worm jumps
+		 * Method to increase the version of the worm without changing any of its values, so that
+		 * whoever remembers values of this worm by its version (see CachingFacade) forgets them
+		 * 
+		 * @post
+		 * 		| new.getVersion() == this.getVersion() + 1
 		 */
-		@Basic @Raw
-		public double getDistance() {
-		        return distance;
+		@Model
+		void increaseVersion() {
+			this.version++;
 		}
 		
 		/**
-		 * This method sets the value for the distance a worm jumps
+		 * Method to verify the class invariants of the worm, used by Validation in SAMPLED mode
 		 * 
-		 * @param distance
-		 * 		the distance a worm jumps
+		 * @return
+		 * 		- the description of the first invariant that is violated
+		 * 		- null if all invariants hold
+		 */
+		@Model
+		String findInvariantViolation() {
+			try {
+				isValidPosition(this.getPosX(), this.getPosY());
+				isValidRadius(this.getRadius());
+				isValidAP(this.getCurrentAP());
+			}
+			catch (IllegalArgumentException exc) {
+				return exc.getMessage();
+			}
+			// the name is still missing while the worm is being created
+			if (this.getName() != null) {
+				ActionStatus status = checkName(this.getName());
+				if (!status.isValid())
+					return status.getMessage();
+			}
+			return null;
+		}
+
+		   
+		    
+		/**
+		 * This method recalls the force with which a worm would jump with its current AP
 		 * 
-		 * @post
-		 * 		Sets the value of distance a worm jumps to the newly calculated or given distance
-		 * 		| new.getDistance() == distance
+		 * @return
+		 * 		| 5*this.getCurrentAP() + this.getMass() * g
 		 */
-		@Basic @Model
-	    public void setDistance(double distance) {
-	            this.distance = distance;
-		    }
+		@Raw
+		public double getForce() {
+		        return (5 * this.getCurrentAP()) + (this.getMass() * g);
+		}
 		   
 		   
 		    
 		/**
-		 * This method recalls the value of the time a worm is in the air while jumping
+		 * This method recalls the value of the velocity with which a worm would jump with its current AP
+		 * 
+		 * @return
+		 * 		| this.getForce() / this.getMass() * 0.5
 		 */
-		@Basic @Raw
-		public double getTime() {
-		        return time;
+		@Raw
+		public double getVelocity() {
+		        return JumpEvaluator.jumpVelocity(this.getCurrentAP(), this.getMass());
 		}
-		
+		   
+		   
+		    
 		/**
-		 * This method sets the value for the time a worm is in the air while jumping
+		 * This method recalls the value of the distance a worm would jump with its current AP
 		 * 
-		 * @param time
-		 * 		The time a worm is in the air while jumping
+		 * @return
+		 * 		| this.getVelocity() * sin(2*this.getAngle()) / g
+		 */
+		@Raw
+		public double getDistance() {
+		        return (Math.pow(this.getVelocity(), 2) * Math.sin(2*this.getAngle()) ) / g;
+		}
+		   
+		   
+		    
+		/**
+		 * This method recalls the value of the time a worm would be in the air while jumping with its current AP
 		 * 
-		 * @post 
-		 * 		Sets the value of the time a worm is in the air while jumping to the newly calculated or given time
-		 * 		| new.getTime() == time
+		 * @return
+		 * 		| this.JumpTime()
 		 */
-		@Basic @Model
-		public void setTime(double time) {
-		        this.time = time;
+		@Raw
+		public double getTime() {
+		        return this.JumpTime();
 		}
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package worms.model;
+
+/**
+ * An enumeration of the kinds of changes a worm can go through.
+ *
+ * @version 1.0
+ */
+public enum WormChange {
+
+	/**
+	 * The position of the worm changed
+	 */
+	MOVED,
+
+	/**
+	 * The angle of the worm changed
+	 */
+	TURNED,
+
+	/**
+	 * The radius, and with it the mass and maximal amount of AP, of the worm changed
+	 */
+	RESIZED,
+
+	/**
+	 * The name of the worm changed
+	 */
+	RENAMED,
+
+	/**
+	 * The current amount of AP of the worm changed
+	 */
+	AP_CHANGED;
+
+}
@@ -0,0 +1,23 @@
+package worms.model;
+
+import java.util.Set;
+
+/**
+ * A listener that is told which worms changed, and how, since the previous flush of WormChanges.
+ *
+ * @version 1.0
+ */
+public interface WormChangeListener {
+
+	/**
+	 * This method is called once per flush for every worm that changed
+	 *
+	 * @param worm
+	 * 		The worm that changed
+	 *
+	 * @param changes
+	 * 		All kinds of changes the worm went through since the previous flush
+	 */
+	void wormChanged(Worm worm, Set<WormChange> changes);
+
+}
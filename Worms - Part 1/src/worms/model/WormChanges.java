@@ -0,0 +1,144 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A class that collects the changes of all worms and hands them to the registered listeners
+ * in batches: every worm that changed since the previous flush is reported once, together
+ * with all kinds of changes it went through.
+ *
+ * Changes are only collected while at least one listener is registered; whoever registers a
+ * listener is responsible for calling flush() regularly, for example once per game tick, and for
+ * removing it again once it is no longer interested.
+ *
+ * Every thread records its changes in a buffer of its own, so that threads that change different
+ * worms (see ConcurrentFacade) do not wait for each other.
+ *
+ * @version 1.0
+ */
+public final class WormChanges {
+
+	/**
+	 * The changes recorded by a single thread since the previous flush; only that thread records
+	 * into it, so its lock is only contended during a flush
+	 */
+	private static final class Buffer {
+		private final Thread owner = Thread.currentThread();
+		private final List<Worm> worms = new ArrayList<Worm>();
+		private final Map<Worm, Set<WormChange>> changes = new IdentityHashMap<Worm, Set<WormChange>>();
+	}
+
+	private static final List<WormChangeListener> listeners = new CopyOnWriteArrayList<WormChangeListener>();
+
+	private static volatile boolean collecting;
+
+	private static final List<Buffer> buffers = new CopyOnWriteArrayList<Buffer>();
+
+	private static final ThreadLocal<Buffer> buffer = new ThreadLocal<Buffer>() {
+		@Override
+		protected Buffer initialValue() {
+			Buffer result = new Buffer();
+			buffers.add(result);
+			return result;
+		}
+	};
+
+	/* disable instantiations */
+	private WormChanges() {
+	}
+
+	/**
+	 * This method registers a listener that is told about the changes on every flush
+	 */
+	public static void addListener(WormChangeListener listener) {
+		listeners.add(listener);
+		collecting = true;
+	}
+
+	/**
+	 * This method unregisters a listener; when no listeners are left, changes are no longer collected
+	 */
+	public static void removeListener(WormChangeListener listener) {
+		listeners.remove(listener);
+		if (listeners.isEmpty()) {
+			collecting = false;
+			for (Buffer pending : buffers) {
+				synchronized (pending) {
+					pending.worms.clear();
+					pending.changes.clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method records that the given worm went through the given change
+	 */
+	static void record(Worm worm, WormChange change) {
+		if (!collecting)
+			return;
+		Buffer pending = buffer.get();
+		synchronized (pending) {
+			Set<WormChange> changes = pending.changes.get(worm);
+			if (changes == null) {
+				changes = EnumSet.of(change);
+				pending.changes.put(worm, changes);
+				pending.worms.add(worm);
+			} else {
+				changes.add(change);
+			}
+		}
+	}
+
+	/**
+	 * This method returns the number of worms of which changes are waiting for the next flush
+	 */
+	public static int getPendingCount() {
+		Map<Worm, Boolean> worms = new IdentityHashMap<Worm, Boolean>();
+		for (Buffer pending : buffers) {
+			synchronized (pending) {
+				for (Worm worm : pending.worms)
+					worms.put(worm, Boolean.TRUE);
+			}
+		}
+		return worms.size();
+	}
+
+	/**
+	 * This method hands all changes collected since the previous flush to the listeners, in the order
+	 * in which the worms first changed; worms that were changed by different threads are reported
+	 * once, with the changes of all threads, in the order of the thread that first recorded into
+	 * WormChanges
+	 */
+	public static void flush() {
+		List<Worm> worms = new ArrayList<Worm>();
+		Map<Worm, Set<WormChange>> changes = new IdentityHashMap<Worm, Set<WormChange>>();
+		for (Buffer pending : buffers) {
+			synchronized (pending) {
+				for (Worm worm : pending.worms) {
+					Set<WormChange> wormChanges = changes.get(worm);
+					if (wormChanges == null) {
+						changes.put(worm, pending.changes.get(worm));
+						worms.add(worm);
+					} else {
+						wormChanges.addAll(pending.changes.get(worm));
+					}
+				}
+				pending.worms.clear();
+				pending.changes.clear();
+			}
+			// forget the buffers of threads that have ended
+			if (!pending.owner.isAlive())
+				buffers.remove(pending);
+		}
+		for (WormChangeListener listener : listeners)
+			for (Worm worm : worms)
+				listener.wormChanged(worm, changes.get(worm));
+	}
+}
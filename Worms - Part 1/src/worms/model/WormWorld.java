@@ -0,0 +1,290 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A world that stores the state of all its worms component by component, in arrays
+ * indexed by entity number, so that systems can walk through one component of all
+ * worms without following a reference per worm.
+ *
+ * The components are:
+ * 		Transform: the position, angle and radius
+ * 		Kinematics: the mass
+ * 		ActionPoints: the current and maximal amount of action points
+ * 		Name: the name
+ * 		Render: flags telling the view which values changed since it last looked
+ *
+ * Every entity has a Worm as its handle. The rules of the game stay in Worm: to change
+ * an entity, its components are loaded into its handle, the handle is changed, and the
+ * components are stored again (see WorldFacade).
+ *
+ * The handles therefore hold a second copy of the transform, action points and name of
+ * every entity, which only matters while the handle is loaded. That copy cannot be
+ * avoided by handing out one reusable handle, as OffHeapWormStore does: IFacade tells
+ * worms apart by their Worm, and so do CachingFacade, ConcurrentFacade, WormChanges and
+ * the caches of the view, so every entity needs a Worm of its own anyway. It costs a
+ * Worm of at most 64 bytes (see WormFootprintTest) next to about 60 bytes of component
+ * arrays and one entry in the map from handle to entity, per entity.
+ *
+ * The arrays returned by the component getters are the arrays of the world itself,
+ * valid for the entities 0 up to size() - 1. Systems must not change them, except for
+ * the render flags, which are cleared by the view once it has handled them.
+ *
+ * All worms of a world follow the validation of the world, which checks all values they
+ * are given until its mode is changed (see getValidation()).
+ *
+ * @version 1.0
+ */
+public class WormWorld {
+
+	/**
+	 * Render flag set when the angle of an entity changed
+	 */
+	public static final int RENDER_DIRECTION = 1;
+
+	/**
+	 * Render flag set when the radius of an entity changed
+	 */
+	public static final int RENDER_RADIUS = 1 << 1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int size;
+
+	private double[] posX = new double[INITIAL_CAPACITY];
+	private double[] posY = new double[INITIAL_CAPACITY];
+	private double[] angle = new double[INITIAL_CAPACITY];
+	private double[] radius = new double[INITIAL_CAPACITY];
+
+	private double[] mass = new double[INITIAL_CAPACITY];
+
+	private int[] currentAP = new int[INITIAL_CAPACITY];
+	private int[] maxAP = new int[INITIAL_CAPACITY];
+
+	private String[] names = new String[INITIAL_CAPACITY];
+
+	private int[] renderFlags = new int[INITIAL_CAPACITY];
+
+	private Worm[] handles = new Worm[INITIAL_CAPACITY];
+
+	private final Map<Worm, Integer> entities = new IdentityHashMap<Worm, Integer>();
+
+	private final List<EntitySystem> systems = new ArrayList<EntitySystem>();
+
+	private final Validation validation = new Validation();
+
+	/**
+	 * This method returns the number of entities in the world
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void grow() {
+		int capacity = 2 * handles.length;
+		posX = Arrays.copyOf(posX, capacity);
+		posY = Arrays.copyOf(posY, capacity);
+		angle = Arrays.copyOf(angle, capacity);
+		radius = Arrays.copyOf(radius, capacity);
+		mass = Arrays.copyOf(mass, capacity);
+		currentAP = Arrays.copyOf(currentAP, capacity);
+		maxAP = Arrays.copyOf(maxAP, capacity);
+		names = Arrays.copyOf(names, capacity);
+		renderFlags = Arrays.copyOf(renderFlags, capacity);
+		handles = Arrays.copyOf(handles, capacity);
+	}
+
+	/**
+	 * This method returns the validation that all worms of the world follow
+	 */
+	public Validation getValidation() {
+		return validation;
+	}
+
+	/**
+	 * This method adds the given worm to the world as a new entity, with the worm as its handle,
+	 * and lets the worm follow the validation of the world
+	 *
+	 * @return the entity number of the worm
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the worm is null or already part of the world
+	 */
+	public int add(Worm worm) throws IllegalArgumentException {
+		if (worm == null)
+			throw new IllegalArgumentException("Worm must not be null");
+		if (entities.containsKey(worm))
+			throw new IllegalArgumentException("Worm is already part of the world");
+		if (size == handles.length)
+			grow();
+		int entity = size++;
+		handles[entity] = worm;
+		entities.put(worm, entity);
+		worm.setValidation(validation);
+		store(entity);
+		renderFlags[entity] = RENDER_DIRECTION | RENDER_RADIUS;
+		return entity;
+	}
+
+	/**
+	 * This method creates a worm with the given values as a new entity, following the validation
+	 * of the world from the start: its values are only checked if the validation checks values
+	 *
+	 * @return the handle of the new entity
+	 *
+	 * @throws IllegalArgumentException
+	 * 		If the validation checks values and one of the values is not valid
+	 */
+	public Worm create(double x, double y, double radius, double angle, String name)
+			throws IllegalArgumentException {
+		Worm worm;
+		if (validation.isCheckingValues())
+			worm = new Worm(x, y, radius, angle, name);
+		else
+			worm = Worm.createUnchecked(x, y, radius, angle, name);
+		add(worm);
+		return worm;
+	}
+
+	/**
+	 * This method returns the entity number of the given worm, or -1 if it is not part of the world
+	 */
+	public int getEntity(Worm worm) {
+		Integer entity = entities.get(worm);
+		return entity == null ? -1 : entity;
+	}
+
+	/**
+	 * This method returns the handle of the given entity
+	 */
+	public Worm getWorm(int entity) {
+		return handles[entity];
+	}
+
+	/**
+	 * This method copies the components of the given entity into its handle, keeping the version
+	 * of the handle: the components are only changed by storing the handle, so they hold the
+	 * values the handle already has, and values cached for that version stay valid
+	 *
+	 * @return the handle of the entity
+	 */
+	public Worm load(int entity) {
+		Worm worm = handles[entity];
+		worm.assignState(posX[entity], posY[entity], angle[entity], radius[entity], currentAP[entity],
+				names[entity]);
+		return worm;
+	}
+
+	/**
+	 * This method copies the state of the handle of the given entity into its components, and
+	 * sets the render flags of the values that changed
+	 */
+	public void store(int entity) {
+		Worm worm = handles[entity];
+		if (angle[entity] != worm.getAngle())
+			renderFlags[entity] |= RENDER_DIRECTION;
+		if (radius[entity] != worm.getRadius())
+			renderFlags[entity] |= RENDER_RADIUS;
+		posX[entity] = worm.getPosX();
+		posY[entity] = worm.getPosY();
+		angle[entity] = worm.getAngle();
+		radius[entity] = worm.getRadius();
+		mass[entity] = worm.getMass();
+		currentAP[entity] = worm.getCurrentAP();
+		maxAP[entity] = worm.getMaxAP();
+		names[entity] = worm.getName();
+	}
+
+	/**
+	 * This method adds a system to the world, which is run on every update after the systems
+	 * that were added before it
+	 */
+	public void addSystem(EntitySystem system) {
+		systems.add(system);
+	}
+
+	/**
+	 * This method removes a system from the world
+	 */
+	public void removeSystem(EntitySystem system) {
+		systems.remove(system);
+	}
+
+	/**
+	 * This method runs all systems of the world once
+	 *
+	 * @param timeDelta
+	 * 		The time that has passed since the previous update, in seconds
+	 */
+	public void update(double timeDelta) {
+		for (int i = 0; i < systems.size(); i++)
+			systems.get(i).update(this, timeDelta);
+	}
+
+	/**
+	 * This method returns the X-positions of all entities (Transform)
+	 */
+	public double[] getPosX() {
+		return posX;
+	}
+
+	/**
+	 * This method returns the Y-positions of all entities (Transform)
+	 */
+	public double[] getPosY() {
+		return posY;
+	}
+
+	/**
+	 * This method returns the angles of all entities (Transform)
+	 */
+	public double[] getAngle() {
+		return angle;
+	}
+
+	/**
+	 * This method returns the radii of all entities (Transform)
+	 */
+	public double[] getRadius() {
+		return radius;
+	}
+
+	/**
+	 * This method returns the masses of all entities (Kinematics)
+	 */
+	public double[] getMass() {
+		return mass;
+	}
+
+	/**
+	 * This method returns the current amounts of AP of all entities (ActionPoints)
+	 */
+	public int[] getCurrentAP() {
+		return currentAP;
+	}
+
+	/**
+	 * This method returns the maximal amounts of AP of all entities (ActionPoints)
+	 */
+	public int[] getMaxAP() {
+		return maxAP;
+	}
+
+	/**
+	 * This method returns the names of all entities (Name)
+	 */
+	public String[] getNames() {
+		return names;
+	}
+
+	/**
+	 * This method returns the render flags of all entities (Render)
+	 */
+	public int[] getRenderFlags() {
+		return renderFlags;
+	}
+}
@@ -0,0 +1,101 @@
+package worms.gui;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.FrameRateGovernor.Decision;
+
+public class FrameRateGovernorTest {
+
+	private static final long MILLISECOND = 1000000;
+
+	private FrameRateGovernor governor;
+
+	@Before
+	public void setup() {
+		governor = new FrameRateGovernor(30, 120);
+	}
+
+	/**
+	 * Run the given number of seconds at the current framerate, in which
+	 * every tick and every paint takes the given time
+	 */
+	private void run(double seconds, long tickNanos, long paintNanos) {
+		double time = 0;
+		while (time < seconds) {
+			time += governor.getFramePeriod() / 1e9;
+			if (governor.shouldPaint()) {
+				governor.paintFinished(paintNanos);
+			}
+			governor.tickFinished(tickNanos);
+		}
+	}
+
+	@Test
+	public void testStartsAtMinimum() {
+		assertEquals(30, governor.getFramerate());
+		assertEquals(1, governor.getPaintInterval());
+		assertEquals(Decision.NONE, governor.getLastDecision());
+	}
+
+	@Test
+	public void testRaisesToMaximumWithHeadroom() {
+		run(10, MILLISECOND, MILLISECOND);
+		assertEquals(120, governor.getFramerate());
+		assertEquals(1, governor.getPaintInterval());
+		assertEquals(0, governor.getSkippedPaints());
+	}
+
+	@Test
+	public void testRaisesNoFurtherThanBudgetAllows() {
+		// 10 ms per frame fits in 60 fps, but not in 75 fps
+		run(10, 2 * MILLISECOND, 8 * MILLISECOND);
+		assertTrue(governor.getFramerate() > 30);
+		assertTrue(governor.getFramerate() * 10 * MILLISECOND < 1000000000L);
+	}
+
+	@Test
+	public void testLowersBeforeShedding() {
+		run(10, MILLISECOND, MILLISECOND);
+		// 27 ms per frame only fits at 30 fps, without shedding
+		run(5, 2 * MILLISECOND, 25 * MILLISECOND);
+		assertEquals(30, governor.getFramerate());
+		assertEquals(1, governor.getPaintInterval());
+	}
+
+	@Test
+	public void testShedsPaintsButKeepsTicks() {
+		// 60 ms of painting cannot be done 30 times per second
+		run(5, 2 * MILLISECOND, 60 * MILLISECOND);
+		assertEquals(30, governor.getFramerate());
+		assertTrue(governor.getPaintInterval() > 1);
+		assertTrue(governor.getSkippedPaints() > 0);
+		assertTrue(2 * MILLISECOND + 60 * MILLISECOND
+				/ governor.getPaintInterval() < governor.getFramePeriod());
+	}
+
+	@Test
+	public void testShedsNoMoreThanMaximum() {
+		run(10, 2 * MILLISECOND, 1000 * MILLISECOND);
+		assertEquals(FrameRateGovernor.MAXIMUM_PAINT_INTERVAL,
+				governor.getPaintInterval());
+	}
+
+	@Test
+	public void testResumesPaintsWhenLoadDrops() {
+		run(5, 2 * MILLISECOND, 60 * MILLISECOND);
+		run(5, MILLISECOND, MILLISECOND);
+		assertEquals(1, governor.getPaintInterval());
+		assertTrue(governor.getFramerate() > 30);
+	}
+
+	@Test
+	public void testMaximumBelowDefault() {
+		governor = new FrameRateGovernor(30, 20);
+		run(10, MILLISECOND, MILLISECOND);
+		assertEquals(20, governor.getFramerate());
+	}
+
+}
@@ -0,0 +1,95 @@
+package worms.gui.game;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LabelCacheTest {
+
+	private static final Color TEXT = Color.WHITE;
+	private static final Color BACKGROUND = Color.BLACK;
+
+	private LabelCache labels;
+
+	private Graphics2D g;
+
+	@Before
+	public void setup() {
+		labels = new LabelCache(2);
+		g = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB)
+				.createGraphics();
+	}
+
+	@After
+	public void dispose() {
+		g.dispose();
+	}
+
+	private LabelCache.Label get(String text) {
+		return labels.get(g, text, TEXT, BACKGROUND, 3, 2);
+	}
+
+	@Test
+	public void testSameLabelIsReused() {
+		LabelCache.Label label = get("Shari");
+		assertSame(label, get("Shari"));
+		assertEquals(1, labels.getLayouts());
+		assertEquals(1, labels.getLayoutsAvoided());
+		assertTrue(label.getTextWidth() > 0);
+	}
+
+	@Test
+	public void testFontAndColoursAreKept() {
+		get("Shari");
+		labels.get(g, "Shari", Color.RED, BACKGROUND, 3, 2);
+		g.setFont(g.getFont().deriveFont(Font.BOLD));
+		get("Shari");
+		assertEquals(3, labels.getLayouts());
+		assertEquals(0, labels.getLayoutsAvoided());
+	}
+
+	@Test
+	public void testStartFrameResetsCounters() {
+		get("Shari");
+		get("Shari");
+		labels.startFrame();
+		assertEquals(0, labels.getLayouts());
+		assertEquals(0, labels.getLayoutsAvoided());
+		get("Shari");
+		assertEquals(0, labels.getLayouts());
+		assertEquals(1, labels.getLayoutsAvoided());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		get("First");
+		get("Second");
+		get("First");
+		get("Third");
+		assertEquals(2, labels.size());
+		labels.startFrame();
+		get("First");
+		assertEquals(1, labels.getLayoutsAvoided());
+		get("Second");
+		assertEquals(1, labels.getLayouts());
+	}
+
+	@Test
+	public void testInvalidateForgetsAllLabelsWithText() {
+		get("Shari");
+		labels.get(g, "Shari", Color.RED, BACKGROUND, 3, 2);
+		labels.invalidate("Shari");
+		assertEquals(0, labels.size());
+		labels.startFrame();
+		get("Shari");
+		assertEquals(1, labels.getLayouts());
+	}
+
+}
@@ -0,0 +1,147 @@
+package worms.gui.game;
+
+import static org.junit.Assert.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.GUIOptions;
+import worms.gui.GUIUtils;
+import worms.gui.GameState;
+import worms.gui.WormsGUI;
+import worms.gui.game.sprites.WormSprite;
+import worms.model.Facade;
+
+public class LayeredRendererTest {
+
+	private static final int WIDTH = 320;
+	private static final int HEIGHT = 240;
+
+	private PlayGameScreen screen;
+
+	private LayeredRenderer layers;
+
+	private BufferedImage image;
+
+	private Graphics2D graphics;
+
+	@Before
+	public void setup() {
+		Facade facade = new Facade();
+		GameState state = new GameState(facade, 3, WIDTH, HEIGHT);
+		state.startGame();
+		screen = PlayGameScreen.create(new WormsGUI(facade, new GUIOptions()),
+				state, false);
+		screen.getPanel().setSize(WIDTH, HEIGHT);
+		screen.createSprites();
+		layers = screen.getLayeredRenderer();
+		image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+		GUIUtils.setRenderingHints(graphics);
+	}
+
+	@After
+	public void tearDown() {
+		graphics.dispose();
+		screen.stopScreen();
+	}
+
+	/**
+	 * Moves a worm that is not selected, so that the worms look different on
+	 * the next frame
+	 */
+	private void moveWorm() {
+		for (WormSprite sprite : screen.getWormSprites()) {
+			if (sprite.getWorm() != screen.getGameState().getSelectedWorm()) {
+				sprite.setCenterLocation(sprite.getCenterX() + 0.5,
+						sprite.getCenterY());
+				return;
+			}
+		}
+		fail();
+	}
+
+	/**
+	 * Paints the first frame, in which the worms count as changed, and a
+	 * frame in which nothing changed
+	 */
+	private void paintSettled() {
+		layers.paint(graphics);
+		layers.paint(graphics);
+		assertPainted(2, 1, 1);
+	}
+
+	private void assertPainted(long frames, long backgrounds, long worms) {
+		assertEquals(frames, layers.getFrameCount());
+		assertEquals(backgrounds, layers.getBackgroundPaintCount());
+		assertEquals(worms, layers.getWormsPaintCount());
+	}
+
+	private BufferedImage copy() {
+		BufferedImage result = new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB);
+		result.setData(image.getData());
+		return result;
+	}
+
+	private static void assertSameImage(BufferedImage expected,
+			BufferedImage actual) {
+		for (int y = 0; y < HEIGHT; y++)
+			for (int x = 0; x < WIDTH; x++)
+				assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+	}
+
+	@Test
+	public void testUnchangedFramesOnlyCopyTheLayers() {
+		layers.paint(graphics);
+		assertPainted(1, 1, 1);
+		BufferedImage first = copy();
+		layers.paint(graphics);
+		layers.paint(graphics);
+		assertPainted(3, 1, 1);
+		assertSameImage(first, image);
+	}
+
+	@Test
+	public void testCameraChangeRepaintsBackground() {
+		paintSettled();
+		screen.getCamera().pan(1, 0);
+		layers.paint(graphics);
+		assertPainted(3, 2, 2);
+		layers.paint(graphics);
+		assertPainted(4, 2, 2);
+	}
+
+	@Test
+	public void testSingleChangeRepaintsWormLayer() {
+		paintSettled();
+		moveWorm();
+		layers.paint(graphics);
+		assertPainted(3, 1, 2);
+		// the layer painted for the change is kept
+		layers.paint(graphics);
+		assertPainted(4, 1, 2);
+	}
+
+	@Test
+	public void testConsecutiveChangesBypassWormLayer() {
+		paintSettled();
+		moveWorm();
+		layers.paint(graphics);
+		moveWorm();
+		layers.paint(graphics);
+		assertPainted(4, 1, 3);
+		BufferedImage bypassed = copy();
+		// the worms were painted on the screen only, so the layer is stale
+		// and painted once more when the worms stop changing
+		layers.paint(graphics);
+		assertPainted(5, 1, 4);
+		assertSameImage(bypassed, image);
+		layers.paint(graphics);
+		assertPainted(6, 1, 4);
+	}
+}
@@ -0,0 +1,245 @@
+package worms.gui.game;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.GUIUtils;
+
+public class StampCacheTest {
+
+	private static final int SIZE = 64;
+
+	private static final Color BACKGROUND = new Color(0x203040);
+	private static final Color FILL = new Color(0xaa84b6cc, true);
+	private static final Color OUTLINE = Color.WHITE;
+
+	/**
+	 * Largest difference in any colour channel between a stamp and the shape
+	 * drawn directly at the quarter pixel the stamp rounds it to
+	 */
+	private static final int TOLERANCE = 2;
+
+	/**
+	 * Largest difference in any colour channel between a stamp and the shape
+	 * drawn directly where it belongs, for a shape of the given colour: every
+	 * edge of the stamp lies within a quarter of a pixel of the exact edge,
+	 * which changes the coverage of a pixel by at most a quarter for each of
+	 * the (at most two) edges that cross it
+	 */
+	private static int unroundedTolerance(Color color) {
+		int max = 0;
+		for (int shift = 0; shift < 24; shift += 8) {
+			int background = (BACKGROUND.getRGB() >> shift) & 0xff;
+			int channel = (color.getRGB() >> shift) & 0xff;
+			max = Math.max(max, Math.abs(channel - background)
+					* color.getAlpha() / 255);
+		}
+		return max / 2 + TOLERANCE;
+	}
+
+	private StampCache stamps;
+
+	@Before
+	public void setup() {
+		stamps = new StampCache(100, SIZE);
+	}
+
+	private static Graphics2D createGraphics(BufferedImage image) {
+		Graphics2D g = image.createGraphics();
+		g.setColor(BACKGROUND);
+		g.fillRect(0, 0, image.getWidth(), image.getHeight());
+		// the hints the screen is drawn with
+		GUIUtils.setRenderingHints(g);
+		return g;
+	}
+
+	private static int maximumDifference(BufferedImage expected,
+			BufferedImage actual) {
+		int max = 0;
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				int e = expected.getRGB(x, y);
+				int a = actual.getRGB(x, y);
+				for (int shift = 0; shift < 32; shift += 8) {
+					int difference = Math.abs(((e >> shift) & 0xff)
+							- ((a >> shift) & 0xff));
+					max = Math.max(max, difference);
+				}
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * The given number of pixels, rounded to a quarter pixel
+	 */
+	private static double round(double pixels) {
+		return (double) Math.round(pixels * StampCache.STEPS)
+				/ StampCache.STEPS;
+	}
+
+	private int discDifference(double x, double y, double radius) {
+		return discDifference(x, y, radius, true);
+	}
+
+	private int discDifference(double x, double y, double radius,
+			boolean rounded) {
+		BufferedImage expected = new BufferedImage(SIZE * 2, SIZE * 2,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = createGraphics(expected);
+		g.setColor(FILL);
+		g.fill(createCircle(x, y, radius, rounded));
+		g.dispose();
+
+		BufferedImage actual = new BufferedImage(SIZE * 2, SIZE * 2,
+				BufferedImage.TYPE_INT_RGB);
+		g = createGraphics(actual);
+		stamps.drawDisc(g, x, y, radius, FILL);
+		g.dispose();
+
+		return maximumDifference(expected, actual);
+	}
+
+	private static Ellipse2D createCircle(double x, double y, double radius,
+			boolean rounded) {
+		if (!rounded)
+			return new Ellipse2D.Double(x - radius, y - radius, 2 * radius,
+					2 * radius);
+		double diameter = round(2 * radius);
+		return new Ellipse2D.Double(round(x - radius), round(y - radius),
+				diameter, diameter);
+	}
+
+	private int circleDifference(double x, double y, double radius) {
+		return circleDifference(x, y, radius, true);
+	}
+
+	private int circleDifference(double x, double y, double radius,
+			boolean rounded) {
+		BufferedImage expected = new BufferedImage(SIZE * 2, SIZE * 2,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = createGraphics(expected);
+		g.setColor(OUTLINE);
+		g.draw(createCircle(x, y, radius, rounded));
+		g.dispose();
+
+		BufferedImage actual = new BufferedImage(SIZE * 2, SIZE * 2,
+				BufferedImage.TYPE_INT_RGB);
+		g = createGraphics(actual);
+		stamps.drawCircle(g, x, y, radius, OUTLINE);
+		g.dispose();
+
+		return maximumDifference(expected, actual);
+	}
+
+	private int barDifference(double x, double y, double fraction) {
+		return barDifference(x, y, fraction, true);
+	}
+
+	private int barDifference(double x, double y, double fraction,
+			boolean rounded) {
+		BufferedImage expected = new BufferedImage(SIZE, SIZE,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = createGraphics(expected);
+		g.setColor(FILL);
+		if (rounded) {
+			g.fill(new RoundRectangle2D.Double(round(x), round(y),
+					round(30 * fraction), 5, 5, 5));
+			g.setColor(OUTLINE);
+			g.draw(new RoundRectangle2D.Double(round(x), round(y), 30, 5, 5, 5));
+		} else {
+			g.fill(new RoundRectangle2D.Double(x, y, 30 * fraction, 5, 5, 5));
+			g.setColor(OUTLINE);
+			g.draw(new RoundRectangle2D.Double(x, y, 30, 5, 5, 5));
+		}
+		g.dispose();
+
+		BufferedImage actual = new BufferedImage(SIZE, SIZE,
+				BufferedImage.TYPE_INT_RGB);
+		g = createGraphics(actual);
+		stamps.drawBar(g, x, y, 30, 5, fraction, FILL, OUTLINE);
+		g.dispose();
+
+		return maximumDifference(expected, actual);
+	}
+
+	@Test
+	public void testAlignedDiscIsIdentical() {
+		for (int step = 0; step < StampCache.STEPS; step++) {
+			double offset = (double) step / StampCache.STEPS;
+			assertTrue(discDifference(40 + offset, 50 - offset, 12.25) <= TOLERANCE);
+		}
+	}
+
+	@Test
+	public void testAlignedBarIsIdentical() {
+		for (int step = 0; step < StampCache.STEPS; step++) {
+			double offset = (double) step / StampCache.STEPS;
+			assertTrue(barDifference(10 + offset, 20 + offset, 0.5) <= TOLERANCE);
+		}
+	}
+
+	@Test
+	public void testDiscIsWithinTolerance() {
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			double x = 40 + random.nextDouble() * 40;
+			double y = 40 + random.nextDouble() * 40;
+			double radius = 1 + random.nextDouble() * 30;
+			assertTrue(discDifference(x, y, radius) <= TOLERANCE);
+			assertTrue(discDifference(x, y, radius, false)
+					<= unroundedTolerance(FILL));
+		}
+	}
+
+	@Test
+	public void testCircleIsWithinTolerance() {
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			double x = 40 + random.nextDouble() * 40;
+			double y = 40 + random.nextDouble() * 40;
+			double radius = 1 + random.nextDouble() * 30;
+			assertTrue(circleDifference(x, y, radius) <= TOLERANCE);
+			assertTrue(circleDifference(x, y, radius, false)
+					<= unroundedTolerance(OUTLINE));
+		}
+	}
+
+	@Test
+	public void testBarIsWithinTolerance() {
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			double x = 5 + random.nextDouble() * 20;
+			double y = 5 + random.nextDouble() * 40;
+			double fraction = random.nextDouble();
+			assertTrue(barDifference(x, y, fraction) <= TOLERANCE);
+			assertTrue(barDifference(x, y, fraction, false)
+					<= unroundedTolerance(OUTLINE));
+		}
+	}
+
+	@Test
+	public void testStampsAreReused() {
+		discDifference(40, 40, 10);
+		stamps.startFrame();
+		discDifference(40, 40, 10);
+		assertEquals(1, stamps.size());
+		assertEquals(1, stamps.getStampsDrawn());
+		assertEquals(0, stamps.getStampsRendered());
+	}
+
+	@Test
+	public void testLargeDiscsAreDrawnDirectly() {
+		assertEquals(0, discDifference(SIZE, SIZE, SIZE));
+		assertEquals(0, stamps.size());
+	}
+}
@@ -0,0 +1,140 @@
+package worms.gui.game;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.gui.Screen;
+import worms.model.CachingFacade;
+import worms.model.Facade;
+import worms.model.IFacade;
+import worms.model.WorldFacade;
+import worms.model.Worm;
+import worms.model.WormWorld;
+
+public class TrajectoryCacheTest {
+
+	private static final double INTERVAL = 0.1;
+
+	private IFacade facade;
+
+	private Screen screen;
+
+	private Worm worm;
+
+	private TrajectoryCache trajectories;
+
+	@Before
+	public void setup() {
+		facade = new Facade();
+		screen = new Screen(null) {
+			@Override
+			protected InputMode createDefaultInputMode() {
+				return null;
+			}
+
+			@Override
+			protected void screenStarted() {
+			}
+		};
+		screen.getPanel().setSize(800, 600);
+		worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		trajectories = new TrajectoryCache();
+		trajectories.startFrame();
+	}
+
+	private TrajectoryCache.Trajectory get(Worm worm) {
+		return trajectories.get(facade, worm, screen, INTERVAL, 1);
+	}
+
+	private void assertReused(int reused, int computed) {
+		assertEquals(reused, trajectories.getReused());
+		assertEquals(computed, trajectories.getComputed());
+	}
+
+	@Test
+	public void testReusedWhileNothingChanges() {
+		TrajectoryCache.Trajectory first = get(worm);
+		assertTrue(first.size() > 1);
+		double x = first.getScreenX(first.size() - 1);
+		assertSame(first, get(worm));
+		assertEquals(x, first.getScreenX(first.size() - 1), 0);
+		assertReused(1, 1);
+	}
+
+	@Test
+	public void testWormVersionInvalidates() {
+		double x = get(worm).getScreenX(1);
+		facade.turn(worm, Math.PI / 8);
+		assertFalse(x == get(worm).getScreenX(1));
+		assertReused(0, 2);
+	}
+
+	@Test
+	public void testCameraVersionInvalidates() {
+		TrajectoryCache.Trajectory trajectory = get(worm);
+		double x = trajectory.getScreenX(0);
+		screen.getCamera().pan(1, 0);
+		get(worm);
+		assertEquals(x - screen.getScreenDistance(1),
+				trajectory.getScreenX(0), 1e-9);
+		assertReused(0, 2);
+	}
+
+	@Test
+	public void testScreenSizeInvalidates() {
+		TrajectoryCache.Trajectory trajectory = get(worm);
+		double x = trajectory.getScreenX(0);
+		screen.getPanel().setSize(1000, 600);
+		get(worm);
+		assertEquals(x + 100, trajectory.getScreenX(0), 1e-9);
+		assertReused(0, 2);
+	}
+
+	@Test
+	public void testNoPointsWhenFacingDownward() {
+		Worm down = facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Down");
+		assertTrue(facade.getJumpTime(down) < 0);
+		assertEquals(0, get(down).size());
+	}
+
+	@Test
+	public void testReusedWithWorldFacade() {
+		facade = new CachingFacade(new WorldFacade(new WormWorld()));
+		worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		get(worm);
+		trajectories.startFrame();
+		TrajectoryCache.Trajectory trajectory = get(worm);
+		assertTrue(trajectory.size() > 1);
+		assertReused(1, 0);
+		facade.turn(worm, Math.PI / 8);
+		get(worm);
+		assertReused(1, 1);
+	}
+
+	@Test
+	public void testStartFrameResetsCounters() {
+		get(worm);
+		get(worm);
+		trajectories.startFrame();
+		assertReused(0, 0);
+		get(worm);
+		assertReused(1, 0);
+	}
+
+	@Test
+	public void testUnusedTrajectoriesAreDropped() {
+		Worm other = facade.createWorm(0, 0, Math.PI / 4, 1, "Other");
+		get(worm);
+		get(other);
+		trajectories.startFrame();
+		assertEquals(2, trajectories.size());
+		get(worm);
+		trajectories.startFrame();
+		assertEquals(1, trajectories.size());
+		get(other);
+		assertReused(0, 1);
+	}
+
+}
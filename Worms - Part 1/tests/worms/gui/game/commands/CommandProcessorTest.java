@@ -0,0 +1,101 @@
+package worms.gui.game.commands;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandProcessorTest {
+
+	private static class Instant extends InstantaneousCommand {
+		private final boolean executable;
+
+		Instant(boolean executable) {
+			super(null, null);
+			this.executable = executable;
+		}
+
+		@Override
+		protected boolean canExecute() {
+			return executable;
+		}
+
+		@Override
+		protected void doStartExecution() {
+		}
+	}
+
+	private static class Animation extends Command {
+		Animation() {
+			super(null, null);
+		}
+
+		@Override
+		protected boolean canExecute() {
+			return true;
+		}
+
+		@Override
+		protected void doStartExecution() {
+		}
+
+		@Override
+		protected boolean isDoneExecuting() {
+			return getElapsedTime() >= 1;
+		}
+
+		@Override
+		protected void doUpdate(double dt) {
+		}
+	}
+
+	private CommandProcessor processor;
+
+	@Before
+	public void setup() {
+		processor = new CommandProcessor();
+	}
+
+	@Test
+	public void testLatencyRecordedAtFirstFrameAfterStart() {
+		Instant command = new Instant(true);
+		processor.enqueueCommand(command);
+		processor.framePainted(command.getInputTime() + 5);
+		assertTrue(processor.getLatencies().isEmpty());
+
+		processor.advanceCommandQueue(0.1);
+		processor.framePainted(command.getInputTime() + 20);
+		processor.framePainted(command.getInputTime() + 40);
+
+		LatencyHistogram histogram = processor.getLatencies().get("Instant");
+		assertEquals(1, histogram.getCount());
+		assertEquals(20, histogram.getMaximum());
+	}
+
+	@Test
+	public void testCancelledCommandsAreRecorded() {
+		Instant command = new Instant(false);
+		processor.enqueueCommand(command);
+		processor.advanceCommandQueue(0.1);
+		processor.framePainted(command.getInputTime() + 10);
+		assertEquals(1, processor.getLatencies().get("Instant").getCount());
+	}
+
+	@Test
+	public void testQueuedCommandWaitsForPrevious() {
+		Animation animation = new Animation();
+		Instant command = new Instant(true);
+		processor.enqueueCommand(animation);
+		processor.enqueueCommand(command);
+		processor.advanceCommandQueue(0.5);
+		processor.framePainted(command.getInputTime() + 10);
+		assertNull(processor.getLatencies().get("Instant"));
+
+		processor.advanceCommandQueue(0.5);
+		processor.framePainted(command.getInputTime() + 1000);
+		assertEquals(1000, processor.getLatencies().get("Instant")
+				.getMaximum());
+		assertEquals(1, processor.getLatencies().get("Animation").getCount());
+	}
+
+}
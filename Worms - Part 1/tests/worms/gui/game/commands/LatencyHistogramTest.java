@@ -0,0 +1,61 @@
+package worms.gui.game.commands;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	private LatencyHistogram histogram;
+
+	@Before
+	public void setup() {
+		histogram = new LatencyHistogram();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMaximum());
+		assertEquals(0, histogram.getMean(), 0);
+		assertEquals(0, histogram.getPercentile(0.95));
+		assertEquals("", histogram.toString());
+	}
+
+	@Test
+	public void testPercentilesAreUpperBounds() {
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(100, histogram.getMaximum());
+		assertEquals(50.5, histogram.getMean(), 1e-9);
+		long median = histogram.getPercentile(0.5);
+		assertTrue(median >= 50 && median <= 67);
+		long p95 = histogram.getPercentile(0.95);
+		assertTrue(p95 >= 95 && p95 <= 100);
+		assertEquals(100, histogram.getPercentile(1));
+	}
+
+	@Test
+	public void testNegativeRecordedAsZero() {
+		histogram.record(-5);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getMaximum());
+		assertEquals(0, histogram.getPercentile(0.5));
+	}
+
+	@Test
+	public void testLongLatencies() {
+		histogram.record(60000);
+		assertEquals(60000, histogram.getPercentile(0.5));
+		assertEquals("5000 ms or more: 1\n", histogram.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidFraction() {
+		histogram.getPercentile(1.5);
+	}
+
+}
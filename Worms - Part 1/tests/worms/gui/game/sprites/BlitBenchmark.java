@@ -0,0 +1,87 @@
+package worms.gui.game.sprites;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import javax.imageio.ImageIO;
+
+import worms.gui.GUIUtils;
+
+/**
+ * Measures how long it takes to draw the worm image in the format ImageIO
+ * reads it in, in plain ARGB and in the format sprites use, onto a
+ * screen-sized opaque image.
+ * 
+ * Run from the project directory, optionally with the file to draw and the
+ * scale of the sprite as arguments.
+ */
+public class BlitBenchmark {
+
+	private static final int WIDTH = 1024;
+	private static final int HEIGHT = 768;
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int BLITS = 200000;
+
+	public static void main(String[] args) throws Exception {
+		String filename = args.length > 0 ? args[0] : "images/worm.png";
+		double scale = args.length > 1 ? Double.parseDouble(args[1]) : 0.1;
+
+		BufferedImage read = ImageIO.read(new File(filename));
+		Image scaled = read.getScaledInstance(
+				(int) (scale * read.getWidth()),
+				(int) (scale * read.getHeight()), Image.SCALE_SMOOTH);
+
+		BufferedImage argb = new BufferedImage(scaled.getWidth(null),
+				scaled.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D argbGraphics = argb.createGraphics();
+		argbGraphics.drawImage(scaled, 0, 0, null);
+		argbGraphics.dispose();
+
+		BufferedImage asRead = new BufferedImage(read.getColorModel(), read
+				.getColorModel().createCompatibleWritableRaster(
+						argb.getWidth(), argb.getHeight()), read
+				.isAlphaPremultiplied(), null);
+		Graphics2D asReadGraphics = asRead.createGraphics();
+		asReadGraphics.drawImage(argb, 0, 0, null);
+		asReadGraphics.dispose();
+
+		BufferedImage translucent = GUIUtils.toTranslucentImage(argb);
+
+		BufferedImage screen = new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB);
+		System.out.printf("%dx%d sprite, drawn %d times%n", argb.getWidth(),
+				argb.getHeight(), BLITS);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+			measure("as read (type " + asRead.getType() + ")", asRead, screen,
+					report);
+			measure("INT_ARGB", argb, screen, report);
+			measure("translucent (type " + translucent.getType() + ")",
+					translucent, screen, report);
+		}
+	}
+
+	private static void measure(String name, BufferedImage image,
+			BufferedImage screen, boolean report) {
+		Graphics2D g = screen.createGraphics();
+		int columns = WIDTH - image.getWidth();
+		int rows = HEIGHT - image.getHeight();
+		long start = System.nanoTime();
+		for (int i = 0; i < BLITS; i++) {
+			// long products: i * 104729 no longer fits in an int after 20505
+			// blits, and a negative offset would clip the image
+			int x = (int) (i * 7919L % columns);
+			int y = (int) (i * 104729L % rows);
+			g.drawImage(image, x, y, null);
+		}
+		long time = System.nanoTime() - start;
+		g.dispose();
+		if (report) {
+			System.out.printf("%-30s %8.1f ns per image%n", name, (double) time
+					/ BLITS);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package worms.model;
+
+import java.util.Random;
+
+/**
+ * Measures how long it takes to attempt moves, turns and jumps that are mostly
+ * refused: with tryMove, tryTurn and tryJump, which return why an action was
+ * refused, and with the older paths that check first (canMove, canTurn, the
+ * jump time) or that perform the action and catch the exception it throws.
+ *
+ * Run with the percentage of attempts that must be refused as argument
+ * (default 90).
+ */
+public class ActionBenchmark {
+
+	private static final int NB_WORMS = 1024;
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int ATTEMPTS = 2000000;
+
+	private interface Attempt {
+		/**
+		 * Attempt the action with the given worm; returns whether it was
+		 * refused
+		 */
+		boolean refused(Worm worm);
+	}
+
+	public static void main(String[] args) {
+		int refusedPercentage = args.length > 0 ? Integer.parseInt(args[0])
+				: 90;
+
+		final Facade facade = new Facade();
+		Random random = new Random(42);
+		Worm[] worms = new Worm[NB_WORMS];
+		double[] angles = new double[NB_WORMS];
+		int[] actionPoints = new int[NB_WORMS];
+		for (int i = 0; i < NB_WORMS; i++) {
+			angles[i] = random.nextDouble() * Math.PI;
+			worms[i] = facade.createWorm(0, 0, angles[i], 1, "Benchmark");
+			// a worm without AP can neither move, nor turn, nor jump
+			actionPoints[i] = random.nextInt(100) < refusedPercentage ? 0
+					: worms[i].getMaxAP();
+		}
+
+		Attempt checkedMove = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				if (!facade.canMove(worm, 1))
+					return true;
+				facade.move(worm, 1);
+				return false;
+			}
+		};
+		Attempt caughtMove = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				try {
+					facade.move(worm, 1);
+					return false;
+				} catch (ModelException exc) {
+					return true;
+				}
+			}
+		};
+		Attempt triedMove = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				return !facade.tryMove(worm, 1).isValid();
+			}
+		};
+		Attempt checkedTurn = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				if (!facade.canTurn(worm, 0.5))
+					return true;
+				facade.turn(worm, 0.5);
+				return false;
+			}
+		};
+		Attempt caughtTurn = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				try {
+					facade.turn(worm, 0.5);
+					return false;
+				} catch (IllegalArgumentException exc) {
+					// Facade.turn lets the exception of Worm.Turn through
+					return true;
+				}
+			}
+		};
+		Attempt triedTurn = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				return !facade.tryTurn(worm, 0.5).isValid();
+			}
+		};
+		Attempt checkedJump = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				// a jump that does not move the worm takes no time
+				if (!(facade.getJumpTime(worm) > 0))
+					return true;
+				facade.jump(worm);
+				return false;
+			}
+		};
+		Attempt triedJump = new Attempt() {
+			@Override
+			public boolean refused(Worm worm) {
+				return !facade.tryJump(worm).isValid();
+			}
+		};
+
+		System.out.printf("%d attempts, %d%% of the worms without AP%n",
+				ATTEMPTS, refusedPercentage);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+			measure("move, canMove first", checkedMove, worms, angles,
+					actionPoints, report);
+			measure("move, exception caught", caughtMove, worms,
+					angles, actionPoints, report);
+			measure("tryMove", triedMove, worms, angles,
+					actionPoints, report);
+			measure("turn, canTurn first", checkedTurn, worms, angles,
+					actionPoints, report);
+			measure("turn, exception caught", caughtTurn, worms,
+					angles, actionPoints, report);
+			measure("tryTurn", triedTurn, worms, angles,
+					actionPoints, report);
+			measure("jump, jump time first", checkedJump, worms,
+					angles, actionPoints, report);
+			measure("tryJump", triedJump, worms, angles,
+					actionPoints, report);
+		}
+	}
+
+	private static void measure(String name, Attempt attempt, Worm[] worms,
+			double[] angles, int[] actionPoints, boolean report) {
+		int refused = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < ATTEMPTS; i++) {
+			int w = i % NB_WORMS;
+			Worm worm = worms[w];
+			// undo the previous attempt, so that every worm keeps being
+			// refused or allowed; the same for all paths
+			worm.setCurrentAP(actionPoints[w]);
+			worm.setAngle(angles[w]);
+			worm.setPosX(0);
+			worm.setPosY(0);
+			if (attempt.refused(worm))
+				refused++;
+		}
+		long time = System.nanoTime() - start;
+		if (report) {
+			System.out.printf("%-24s %7.1f ns per attempt (%d refused)%n",
+					name, (double) time / ATTEMPTS, refused);
+		}
+	}
+}
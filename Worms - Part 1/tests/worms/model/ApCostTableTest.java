@@ -0,0 +1,70 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ApCostTableTest {
+
+	private ApCostTable table;
+
+	private Worm worm;
+
+	@Before
+	public void setup() {
+		table = new ApCostTable(360, 50);
+		worm = new Worm(0, 0, 1, 0, "Test");
+	}
+
+	private int expectedMoveCost(double angle, int nbSteps) {
+		worm.setAngle(angle);
+		return worm.calculateApCostMove(nbSteps);
+	}
+
+	@Test
+	public void testTableAnglesMatchFormulas() {
+		for (int k = -360; k <= 360; k++) {
+			double angle = table.getAngle(k);
+			for (int nbSteps = 0; nbSteps <= 60; nbSteps++)
+				assertEquals(expectedMoveCost(angle, nbSteps),
+						table.getMoveCost(angle, nbSteps));
+			assertEquals(Worm.calculateApCostTurn(angle),
+					table.getTurnCost(angle));
+		}
+	}
+
+	@Test
+	public void testOtherAnglesFallBackToFormulas() {
+		Random random = new Random(3);
+		for (int i = 0; i < 10000; i++) {
+			double angle = (random.nextDouble() - 0.5) * 6 * Math.PI;
+			int nbSteps = random.nextInt(100) - 10;
+			assertEquals(expectedMoveCost(angle, nbSteps),
+					table.getMoveCost(angle, nbSteps));
+			assertEquals(Worm.calculateApCostTurn(angle),
+					table.getTurnCost(angle));
+		}
+	}
+
+	@Test
+	public void testFillMoveCosts() {
+		double[] angles = { 0, table.getAngle(45), 1.2345, table.getAngle(-90),
+				Math.PI / 3 };
+		int[] steps = { 0, 1, 7, 50, 51, 1000 };
+		int[] costs = new int[angles.length * steps.length];
+		table.fillMoveCosts(angles, steps, costs);
+		for (int i = 0; i < angles.length; i++)
+			for (int j = 0; j < steps.length; j++)
+				assertEquals(expectedMoveCost(angles[i], steps[j]),
+						costs[i * steps.length + j]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFillMoveCostsWrongSize() {
+		table.fillMoveCosts(new double[2], new int[3], new int[5]);
+	}
+
+}
@@ -0,0 +1,151 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.util.Util;
+
+public class CachingFacadeTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private CachingFacade facade;
+
+	private Worm worm;
+
+	@Before
+	public void setup() {
+		facade = new CachingFacade(new Facade());
+		worm = facade.createWorm(0, 0, 0, 1, "Test");
+		facade.startFrame();
+	}
+
+	/**
+	 * Ask for the X-position of the worm twice, and return the number of those
+	 * queries that reached the underlying facade
+	 */
+	private long askTwice() {
+		facade.getX(worm);
+		facade.getX(worm);
+		facade.startFrame();
+		assertEquals(2, facade.getSavedCallsLastFrame()
+				+ facade.getUnderlyingCallsLastFrame());
+		return facade.getUnderlyingCallsLastFrame();
+	}
+
+	@Test
+	public void testHitsWithinFrame() {
+		facade.getX(worm);
+		facade.getX(worm);
+		facade.getX(worm);
+		facade.getName(worm);
+		facade.startFrame();
+		assertEquals(2, facade.getSavedCallsLastFrame());
+		assertEquals(2, facade.getUnderlyingCallsLastFrame());
+		assertEquals(2, facade.getTotalSavedCalls());
+	}
+
+	@Test
+	public void testStartFrameForgetsValues() {
+		assertEquals(1, askTwice());
+		assertEquals(1, askTwice());
+		facade.startFrame();
+		assertEquals(0, facade.getSavedCallsLastFrame());
+		assertEquals(0, facade.getUnderlyingCallsLastFrame());
+	}
+
+	@Test
+	public void testMoveInvalidates() {
+		double before = facade.getX(worm);
+		facade.move(worm, 1);
+		assertEquals(before + 1, facade.getX(worm), EPS);
+	}
+
+	@Test
+	public void testTurnInvalidates() {
+		facade.getOrientation(worm);
+		facade.turn(worm, 0.5);
+		assertEquals(0.5, facade.getOrientation(worm), EPS);
+	}
+
+	@Test
+	public void testJumpInvalidates() {
+		facade.turn(worm, Math.PI / 4);
+		double before = facade.getX(worm);
+		facade.jump(worm);
+		assertTrue(facade.getX(worm) > before);
+		assertEquals(0, facade.getActionPoints(worm));
+	}
+
+	@Test
+	public void testSetRadiusInvalidates() {
+		double mass = facade.getMass(worm);
+		facade.getRadius(worm);
+		facade.setRadius(worm, 2);
+		assertEquals(2, facade.getRadius(worm), EPS);
+		assertEquals(8 * mass, facade.getMass(worm), EPS);
+	}
+
+	@Test
+	public void testRenameInvalidates() {
+		facade.getName(worm);
+		facade.rename(worm, "Renamed");
+		assertEquals("Renamed", facade.getName(worm));
+	}
+
+	@Test
+	public void testFailedChangeInvalidates() {
+		facade.getName(worm);
+		try {
+			facade.rename(worm, "invalid");
+			fail();
+		} catch (ModelException exc) {
+		}
+		assertEquals("Test", facade.getName(worm));
+		facade.startFrame();
+		assertEquals(2, facade.getUnderlyingCallsLastFrame());
+	}
+
+	@Test
+	public void testExternalChangeInvalidates() {
+		facade.getX(worm);
+		worm.setPosX(5);
+		assertEquals(5, facade.getX(worm), EPS);
+		facade.startFrame();
+		assertEquals(0, facade.getSavedCallsLastFrame());
+		assertEquals(2, facade.getUnderlyingCallsLastFrame());
+	}
+
+	@Test
+	public void testReadOnlyQueriesKeepValuesOfWorldFacade() {
+		facade = new CachingFacade(new WorldFacade(new WormWorld()));
+		worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		facade.startFrame();
+		facade.getX(worm);
+		facade.getJumpTime(worm);
+		facade.getJumpStep(worm, 0.1);
+		facade.canMove(worm, 1);
+		facade.canTurn(worm, 0.5);
+		facade.getX(worm);
+		facade.getJumpTime(worm);
+		facade.startFrame();
+		assertEquals(2, facade.getSavedCallsLastFrame());
+		assertEquals(2, facade.getUnderlyingCallsLastFrame());
+	}
+
+	@Test
+	public void testUnusedEntriesArePruned() {
+		Worm other = facade.createWorm(0, 0, 0, 1, "Other");
+		facade.getX(other);
+		for (int i = 0; i < 2 * CachingFacade.UNUSED_FRAMES; i++) {
+			facade.getX(worm);
+			facade.startFrame();
+		}
+		assertEquals(1, facade.getEntryCount());
+		assertEquals(0, facade.getX(other), EPS);
+		assertEquals(2, facade.getEntryCount());
+	}
+
+}
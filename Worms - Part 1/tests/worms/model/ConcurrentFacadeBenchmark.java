@@ -0,0 +1,100 @@
+package worms.model;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures the throughput of ConcurrentFacade: every thread alternates a
+ * change (setRadius) with a consistent read (getState), either on a worm of
+ * its own or on worms that all threads share, so that the cost of the locks
+ * with and without contention can be compared with the plain Facade.
+ *
+ * Run with the largest number of threads as argument (default 4).
+ */
+public class ConcurrentFacadeBenchmark {
+
+	private static final int NB_SHARED_WORMS = 2;
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int OPERATIONS = 400000;
+
+	private interface Operations {
+		void run(Worm worm, int i);
+	}
+
+	public static void main(String[] args) throws Exception {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+
+		final Facade plain = new Facade();
+		final ConcurrentFacade concurrent = new ConcurrentFacade(new Facade());
+		Operations plainOperations = new Operations() {
+			@Override
+			public void run(Worm worm, int i) {
+				plain.setRadius(worm, (i & 1) == 0 ? 1 : 1.5);
+				plain.getX(worm);
+				plain.getY(worm);
+				plain.getOrientation(worm);
+				plain.getRadius(worm);
+				plain.getActionPoints(worm);
+			}
+		};
+		Operations concurrentOperations = new Operations() {
+			@Override
+			public void run(Worm worm, int i) {
+				concurrent.setRadius(worm, (i & 1) == 0 ? 1 : 1.5);
+				concurrent.getState(worm);
+			}
+		};
+
+		System.out.printf("%d processors, %d operations per thread%n", Runtime
+				.getRuntime().availableProcessors(), OPERATIONS);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+			measure("Facade", plain, plainOperations, 1, false, report);
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				measure("ConcurrentFacade, own worm", concurrent,
+						concurrentOperations, threads, false, report);
+				measure("ConcurrentFacade, shared worms", concurrent,
+						concurrentOperations, threads, true, report);
+			}
+		}
+	}
+
+	private static void measure(String name, IFacade facade,
+			final Operations operations, int nbThreads, boolean shared,
+			boolean report) throws InterruptedException {
+		final Worm[] worms = new Worm[shared ? NB_SHARED_WORMS : nbThreads];
+		for (int i = 0; i < worms.length; i++) {
+			worms[i] = facade.createWorm(i * 10, 0, 0, 1, "Benchmark");
+		}
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[nbThreads];
+		for (int t = 0; t < nbThreads; t++) {
+			final int offset = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < OPERATIONS; i++) {
+						operations.run(worms[(i + offset) % worms.length], i);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long time = System.nanoTime() - begin;
+		if (report) {
+			System.out.printf("%-32s %d thread(s) %10.0f operations per ms%n",
+					name, nbThreads, (double) nbThreads * OPERATIONS * 1e6
+							/ time);
+		}
+	}
+}
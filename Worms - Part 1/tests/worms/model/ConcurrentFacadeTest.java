@@ -0,0 +1,119 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentFacadeTest {
+
+	private static final int NB_WORMS = 8;
+	private static final int NB_WRITERS = 4;
+	private static final int NB_READERS = 2;
+	private static final int MOVES_PER_WRITER = 480;
+
+	private ConcurrentFacade facade;
+
+	private Worm[] worms;
+
+	private double[] startX;
+
+	private int[] startAP;
+
+	@Before
+	public void setup() {
+		facade = new ConcurrentFacade(new Facade());
+		worms = new Worm[NB_WORMS];
+		startX = new double[NB_WORMS];
+		startAP = new int[NB_WORMS];
+		for (int i = 0; i < NB_WORMS; i++) {
+			worms[i] = facade.createWorm(i * 10, 0, 0, 1, "Test");
+			startX[i] = facade.getX(worms[i]);
+			startAP[i] = facade.getActionPoints(worms[i]);
+		}
+	}
+
+	@Test
+	public void testConcurrentMovesAreNeitherLostNorHalfApplied()
+			throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch writersDone = new CountDownLatch(NB_WRITERS);
+		final AtomicBoolean stop = new AtomicBoolean(false);
+		final AtomicInteger inconsistentStates = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+
+		Thread[] threads = new Thread[NB_WRITERS + NB_READERS];
+		for (int w = 0; w < NB_WRITERS; w++) {
+			final int offset = w;
+			threads[w] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						// every writer moves every worm, so writers contend on the same worms
+						for (int i = 0; i < MOVES_PER_WRITER; i++)
+							facade.move(worms[(i + offset) % NB_WORMS], 1);
+					} catch (Throwable exc) {
+						failures.incrementAndGet();
+					} finally {
+						writersDone.countDown();
+					}
+				}
+			});
+		}
+		for (int r = 0; r < NB_READERS; r++) {
+			threads[NB_WRITERS + r] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						while (!stop.get()) {
+							for (int i = 0; i < NB_WORMS; i++) {
+								double[] state = facade.getState(worms[i]);
+								// one step of radius 1 at angle 0 moves 1 meter and costs 1 AP
+								if (state[0] - startX[i] != startAP[i] - state[4])
+									inconsistentStates.incrementAndGet();
+							}
+						}
+					} catch (Throwable exc) {
+						failures.incrementAndGet();
+					}
+				}
+			});
+		}
+
+		for (Thread thread : threads)
+			thread.start();
+		start.countDown();
+		writersDone.await();
+		stop.set(true);
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals(0, failures.get());
+		assertEquals(0, inconsistentStates.get());
+		int movesPerWorm = NB_WRITERS * MOVES_PER_WRITER / NB_WORMS;
+		for (int i = 0; i < NB_WORMS; i++) {
+			assertEquals(startX[i] + movesPerWorm, facade.getX(worms[i]), 0);
+			assertEquals(startAP[i] - movesPerWorm,
+					facade.getActionPoints(worms[i]));
+		}
+	}
+
+	@Test
+	public void testWormsAreSpreadOverLocks() {
+		assertSame(facade.getLock(worms[0]), facade.getLock(worms[0]));
+		Set<ReadWriteLock> locks = new HashSet<ReadWriteLock>();
+		for (int i = 0; i < 1000; i++)
+			locks.add(facade.getLock(facade.createWorm(0, 0, 0, 1, "Test")));
+		assertTrue(locks.size() > 32);
+	}
+
+}
@@ -0,0 +1,109 @@
+package worms.model;
+
+import java.util.Random;
+
+import worms.util.Util;
+
+/**
+ * Measures how long it takes to evaluate the jump time and a jump step of
+ * many worms, one call per worm and in a single batch call over parallel
+ * arrays.
+ *
+ * Run with the number of worms as argument (default 4096).
+ */
+public class JumpEvaluatorBenchmark {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int REPETITIONS = 2000;
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+
+		Random random = new Random(42);
+		int[] actionPoints = new int[n];
+		double[] masses = new double[n];
+		double[] angles = new double[n];
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		double[] ts = new double[n];
+		for (int i = 0; i < n; i++) {
+			double radius = 0.25 + random.nextDouble() * 2;
+			masses[i] = 1062 * Math.PI * radius * radius * radius;
+			actionPoints[i] = random.nextInt(5) == 0 ? 0 : random
+					.nextInt(1000);
+			angles[i] = (random.nextDouble() - 0.25) * 2 * Math.PI;
+			xs[i] = random.nextDouble() * 100;
+			ys[i] = random.nextDouble() * 100;
+			ts[i] = random.nextDouble();
+		}
+		double[] times = new double[n];
+		double[] resultX = new double[n];
+		double[] resultY = new double[n];
+
+		System.out.printf("%d worms, %d repetitions%n", n, REPETITIONS);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+
+			long start = System.nanoTime();
+			double sum = 0;
+			for (int r = 0; r < REPETITIONS; r++) {
+				for (int i = 0; i < n; i++) {
+					sum += JumpEvaluator.jumpTime(actionPoints[i], masses[i],
+							angles[i]);
+				}
+			}
+			report(report, "jump time, per call", start, n, sum);
+
+			start = System.nanoTime();
+			sum = 0;
+			for (int r = 0; r < REPETITIONS; r++) {
+				JumpEvaluator.jumpTimes(actionPoints, masses, angles, times);
+				sum += times[r % n];
+			}
+			report(report, "jump time, batch", start, n, sum);
+
+			start = System.nanoTime();
+			sum = 0;
+			for (int r = 0; r < REPETITIONS; r++) {
+				for (int i = 0; i < n; i++) {
+					sum += jumpStep(xs[i], ys[i], actionPoints[i], masses[i],
+							angles[i], ts[i]);
+				}
+			}
+			report(report, "jump step, per call", start, n, sum);
+
+			start = System.nanoTime();
+			sum = 0;
+			for (int r = 0; r < REPETITIONS; r++) {
+				JumpEvaluator.jumpSteps(xs, ys, actionPoints, masses, angles,
+						ts, resultX, resultY);
+				sum += resultX[r % n] + resultY[r % n];
+			}
+			report(report, "jump step, batch", start, n, sum);
+		}
+	}
+
+	/**
+	 * A single jump step, written like Worm.JumpStep with a branch, as the
+	 * baseline for jumpSteps; returns x + y
+	 */
+	private static double jumpStep(double x, double y, int actionPoints,
+			double mass, double angle, double t) {
+		if (angle < -Util.DEFAULT_EPSILON
+				|| angle > Math.PI + Util.DEFAULT_EPSILON)
+			return x + y;
+		double velocity = JumpEvaluator.jumpVelocity(actionPoints, mass);
+		return x + velocity * Math.cos(angle) * t + y + velocity
+				* Math.sin(angle) * t - 0.5 * JumpEvaluator.G * t * t;
+	}
+
+	private static void report(boolean report, String name, long start, int n,
+			double sum) {
+		long time = System.nanoTime() - start;
+		if (report) {
+			// printing the sum keeps the calls from being optimised away
+			System.out.printf("%-22s %6.2f ns per worm (sum %.4g)%n", name,
+					(double) time / REPETITIONS / n, sum);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.util.Util;
+
+public class JumpEvaluatorTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private static final int NB_JUMPS = 1000;
+
+	private Worm[] worms;
+
+	private double[] xs;
+	private double[] ys;
+	private int[] actionPoints;
+	private double[] masses;
+	private double[] angles;
+	private double[] ts;
+
+	@Before
+	public void setup() {
+		Random random = new Random(7);
+		worms = new Worm[NB_JUMPS];
+		xs = new double[NB_JUMPS];
+		ys = new double[NB_JUMPS];
+		actionPoints = new int[NB_JUMPS];
+		masses = new double[NB_JUMPS];
+		angles = new double[NB_JUMPS];
+		ts = new double[NB_JUMPS];
+		for (int i = 0; i < NB_JUMPS; i++) {
+			double angle = (random.nextDouble() * 2 - 0.5) * Math.PI;
+			Worm worm = new Worm(random.nextDouble() * 10,
+					random.nextDouble() * 10, 0.25 + random.nextDouble(),
+					angle, "Test");
+			worm.setCurrentAP(i % 10 == 0 ? 0 : random.nextInt(worm
+					.getMaxAP() + 1));
+			worms[i] = worm;
+			xs[i] = worm.getPosX();
+			ys[i] = worm.getPosY();
+			actionPoints[i] = worm.getCurrentAP();
+			masses[i] = worm.getMass();
+			angles[i] = worm.getAngle();
+		}
+	}
+
+	@Test
+	public void testJumpTimesMatchWorm() {
+		double[] times = new double[NB_JUMPS];
+		JumpEvaluator.jumpTimes(actionPoints, masses, angles, times);
+		for (int i = 0; i < NB_JUMPS; i++) {
+			assertEquals(worms[i].JumpTime(), times[i], EPS);
+			assertEquals(worms[i].JumpTime(), JumpEvaluator.jumpTime(
+					actionPoints[i], masses[i], angles[i]), EPS);
+		}
+	}
+
+	@Test
+	public void testJumpStepsMatchWorm() {
+		double[] resultX = new double[NB_JUMPS];
+		double[] resultY = new double[NB_JUMPS];
+		for (int i = 0; i < NB_JUMPS; i++)
+			ts[i] = Math.abs(worms[i].JumpTime()) * (i % 5) / 4;
+		JumpEvaluator.jumpSteps(xs, ys, actionPoints, masses, angles, ts,
+				resultX, resultY);
+		for (int i = 0; i < NB_JUMPS; i++) {
+			double[] expected = worms[i].JumpStep(ts[i]);
+			assertEquals(expected[0], resultX[i], EPS);
+			assertEquals(expected[1], resultY[i], EPS);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testArraysOfDifferentLength() {
+		JumpEvaluator.jumpTimes(actionPoints, masses, angles, new double[1]);
+	}
+
+}
@@ -0,0 +1,60 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class NameTableTest {
+
+	private Worm worm;
+
+	@Before
+	public void setup() {
+		NameTable.clear();
+		worm = new Worm(0, 0, 1, 0, "Test");
+	}
+
+	@Test
+	public void testEqualNamesShareOneString() {
+		Worm first = new Worm(0, 0, 1, 0, new String("Shari"));
+		Worm second = new Worm(0, 0, 1, 0, new String("Shari"));
+		assertSame(first.getName(), second.getName());
+		assertEquals(1, NameTable.getSharedCount());
+		assertEquals(NameTable.estimateSize("Shari"), NameTable.getBytesSaved());
+	}
+
+	@Test
+	public void testUnusedNamesAreDropped() throws InterruptedException {
+		for (int i = 0; i < 26 * 26; i++) {
+			new Worm(0, 0, 1, 0, "Forgotten" + (char) ('a' + i % 26)
+					+ (char) ('a' + i / 26));
+		}
+		for (int i = 0; i < 50 && NameTable.size() > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(1, NameTable.size());
+		assertEquals("Test", worm.getName());
+	}
+
+	@Test
+	public void testCharacterCheckMatchesRegularExpression() {
+		for (char c = 0; c < 0x300; c++) {
+			String name = "A" + c;
+			assertEquals("character " + (int) c,
+					name.matches("[a-zA-Z'\" ]*"), worm.checkName(name)
+							.isValid());
+		}
+	}
+
+	@Test
+	public void testCheckNameStatuses() {
+		assertEquals(ActionStatus.VALID, worm.checkName("O'Hara \"Jr\""));
+		assertEquals(ActionStatus.NAME_TOO_SHORT, worm.checkName("A"));
+		assertEquals(ActionStatus.NAME_NOT_CAPITALIZED, worm.checkName("worm"));
+		assertEquals(ActionStatus.NAME_INVALID_CHARACTER,
+				worm.checkName("Worm1"));
+	}
+
+}
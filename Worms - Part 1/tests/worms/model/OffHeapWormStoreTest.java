@@ -0,0 +1,133 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.util.Util;
+
+public class OffHeapWormStoreTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private IFacade facade;
+
+	private OffHeapWormStore store;
+
+	@Before
+	public void setup() {
+		facade = new Facade();
+		store = new OffHeapWormStore(2);
+	}
+
+	@Test
+	public void testAddAndRead() {
+		int slot = store.add(1, 2, 0.5, 1, 100, "Test");
+		assertEquals(1, store.getPosX(slot), 0);
+		assertEquals(2, store.getPosY(slot), 0);
+		assertEquals(0.5, store.getAngle(slot), 0);
+		assertEquals(1, store.getRadius(slot), 0);
+		assertEquals(100, store.getCurrentAP(slot));
+		assertEquals("Test", store.getName(slot));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	public void testRemovedSlotIsReused() {
+		int first = store.add(0, 0, 0, 1, 10, "First");
+		store.add(0, 0, 0, 1, 10, "Second");
+		store.remove(first);
+		assertFalse(store.isOccupied(first));
+		assertEquals(first, store.add(5, 5, 0, 1, 10, "Third"));
+		assertEquals("Third", store.getName(first));
+		assertEquals(2, store.size());
+		assertEquals(2, store.capacity());
+	}
+
+	@Test
+	public void testGrowKeepsRecords() {
+		for (int i = 0; i < 100; i++)
+			store.add(i, -i, 0, 1, i, "Test");
+		assertTrue(store.capacity() >= 100);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, store.getPosX(i), 0);
+			assertEquals(-i, store.getPosY(i), 0);
+			assertEquals(i, store.getCurrentAP(i));
+		}
+	}
+
+	@Test
+	public void testFlyweightMatchesOnHeapWorm() {
+		Worm onHeap = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		int slot = store.add(onHeap);
+
+		facade.move(onHeap, 3);
+		facade.move(store.load(slot), 3);
+		store.save(slot);
+
+		assertEquals(facade.getX(onHeap), store.getPosX(slot), EPS);
+		assertEquals(facade.getY(onHeap), store.getPosY(slot), EPS);
+		assertEquals(facade.getActionPoints(onHeap), store.getCurrentAP(slot));
+		assertEquals(facade.getJumpTime(onHeap),
+				facade.getJumpTime(store.load(slot)), EPS);
+	}
+
+	@Test
+	public void testCachingFacadeTellsSlotsApart() {
+		int first = store.add(1, 0, 0, 1, 10, "First");
+		int second = store.add(2, 0, 0, 1, 20, "Second");
+		CachingFacade caching = new CachingFacade(facade);
+		caching.startFrame();
+		assertEquals(1, caching.getX(store.load(first)), 0);
+		assertEquals(10, caching.getActionPoints(store.load(first)));
+		assertEquals(2, caching.getX(store.load(second)), 0);
+		assertEquals(20, caching.getActionPoints(store.load(second)));
+		assertEquals("Second", caching.getName(store.load(second)));
+	}
+
+	@Test
+	public void testReloadingSameSlotKeepsCachedValues() {
+		int slot = store.add(1, 0, 0, 1, 10, "First");
+		CachingFacade caching = new CachingFacade(facade);
+		caching.startFrame();
+		caching.getX(store.load(slot));
+		caching.getX(store.load(slot));
+		caching.startFrame();
+		assertEquals(1, caching.getSavedCallsLastFrame());
+	}
+
+	@Test
+	public void testReloadingUndoesUnsavedChanges() {
+		int slot = store.add(1, 0, 0, 1, 10, "First");
+		CachingFacade caching = new CachingFacade(facade);
+		Worm worm = store.load(slot);
+		caching.getX(worm);
+		worm.setPosX(5);
+		assertEquals(5, caching.getX(worm), 0);
+		assertEquals(1, caching.getX(store.load(slot)), 0);
+	}
+
+	@Test
+	public void testReusedSlotIsNotAnsweredFromCache() {
+		int slot = store.add(1, 0, 0, 1, 10, "First");
+		CachingFacade caching = new CachingFacade(facade);
+		caching.getX(store.load(slot));
+		store.remove(slot);
+		assertEquals(slot, store.add(7, 0, 0, 1, 10, "Second"));
+		assertEquals(7, caching.getX(store.load(slot)), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacityTooLarge() {
+		new OffHeapWormStore(OffHeapWormStore.MAXIMUM_CAPACITY + 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoadFreeSlot() {
+		int slot = store.add(0, 0, 0, 1, 10, "Test");
+		store.remove(slot);
+		store.load(slot);
+	}
+
+}
@@ -48,4 +48,48 @@ public class PartialFacadeTest {
 		facade.jump(worm);
 	}
 
+	@Test
+	public void testTryMoveValid() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		assertEquals(ActionStatus.VALID, facade.tryMove(worm, 5));
+		assertEquals(5, facade.getX(worm), EPS);
+	}
+
+	@Test
+	public void testTryMoveRejected() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		assertEquals(ActionStatus.NEGATIVE_STEPS, facade.tryMove(worm, -1));
+		assertEquals(ActionStatus.INSUFFICIENT_AP,
+				facade.tryMove(worm, facade.getActionPoints(worm) + 1));
+		assertEquals(0, facade.getX(worm), EPS);
+		assertFalse(facade.canMove(worm, -1));
+	}
+
+	@Test
+	public void testTryTurnRejected() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		facade.move(worm, facade.getActionPoints(worm));
+		assertEquals(ActionStatus.INSUFFICIENT_AP,
+				facade.tryTurn(worm, Math.PI / 2));
+		assertEquals(0, facade.getOrientation(worm), EPS);
+		assertFalse(facade.canTurn(worm, Math.PI / 2));
+	}
+
+	@Test
+	public void testTryJumpRejected() {
+		Worm worm = facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Test");
+		int actionPoints = facade.getActionPoints(worm);
+		assertEquals(ActionStatus.INVALID_DIRECTION, facade.tryJump(worm));
+		assertEquals(actionPoints, facade.getActionPoints(worm));
+	}
+
+	@Test
+	public void testTryJumpValid() {
+		Worm worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		assertEquals(ActionStatus.VALID, facade.tryJump(worm));
+		assertEquals(0, facade.getActionPoints(worm));
+		assertEquals(ActionStatus.INSUFFICIENT_AP, facade.tryJump(worm));
+	}
+
+
 }
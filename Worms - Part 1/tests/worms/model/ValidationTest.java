@@ -0,0 +1,113 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ValidationTest {
+
+	private Validation validation;
+
+	private Worm worm;
+
+	@Before
+	public void setup() {
+		validation = new Validation();
+		worm = new Worm(0, 0, 1, 0, "Test");
+		worm.setValidation(validation);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFullModeRefusesInvalidName() {
+		worm.setName("invalid");
+	}
+
+	@Test
+	public void testFullModeIsDefault() {
+		assertEquals(ValidationMode.FULL, validation.getMode());
+		assertEquals(ValidationMode.FULL, new WormWorld().getValidation()
+				.getMode());
+	}
+
+	@Test
+	public void testTrustedModeStoresWithoutChecking() {
+		validation.setMode(ValidationMode.TRUSTED);
+		worm.setName("invalid");
+		worm.setPosX(Double.POSITIVE_INFINITY);
+		assertEquals("invalid", worm.getName());
+		assertEquals(0, validation.getSampleCount());
+	}
+
+	@Test
+	public void testSampledModeReportsViolation() {
+		validation.setMode(ValidationMode.SAMPLED);
+		validation.setSampleInterval(1);
+		worm.setName("invalid");
+		assertEquals(1, validation.getSampleCount());
+		assertEquals(1, validation.getViolationCount());
+		assertEquals(ActionStatus.NAME_NOT_CAPITALIZED.getMessage(),
+				validation.getLastViolation());
+	}
+
+	@Test
+	public void testSampledModeOnlyVerifiesOneInN() {
+		validation.setMode(ValidationMode.SAMPLED);
+		validation.setSampleInterval(10);
+		for (int i = 0; i < 100; i++)
+			worm.setPosX(i);
+		assertEquals(10, validation.getSampleCount());
+		assertEquals(0, validation.getViolationCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSampleIntervalMustBePositive() {
+		validation.setSampleInterval(0);
+	}
+
+	@Test
+	public void testModeIsSettingOfWorld() {
+		WorldFacade trusted = new WorldFacade(new WormWorld());
+		trusted.getWorld().getValidation().setMode(ValidationMode.TRUSTED);
+		WorldFacade checked = new WorldFacade(new WormWorld());
+		Worm first = trusted.createWorm(0, 0, 0, 1, "First");
+		Worm second = checked.createWorm(0, 0, 0, 1, "Second");
+		trusted.rename(first, "invalid");
+		assertEquals("invalid", trusted.getName(first));
+		try {
+			checked.rename(second, "invalid");
+			fail();
+		} catch (ModelException exc) {
+			assertEquals("Second", checked.getName(second));
+		}
+		try {
+			new Worm(0, 0, 1, 0, "Alone").setName("invalid");
+			fail();
+		} catch (IllegalArgumentException exc) {
+		}
+	}
+
+	@Test
+	public void testTrustedWorldCreatesWithoutChecking() {
+		WorldFacade trusted = new WorldFacade(new WormWorld());
+		trusted.getWorld().getValidation().setMode(ValidationMode.TRUSTED);
+		Worm worm = trusted.createWorm(1, 2, 0.5, 1, "invalid");
+		assertEquals("invalid", trusted.getName(worm));
+		assertSame(trusted.getWorld().getValidation(), worm.getValidation());
+
+		Worm checked = new Worm(1, 2, 1, 0.5, "Valid");
+		Worm unchecked = trusted.createWorm(1, 2, 0.5, 1, "Valid");
+		assertEquals(checked.getPosX(), trusted.getX(unchecked), 0);
+		assertEquals(checked.getPosY(), trusted.getY(unchecked), 0);
+		assertEquals(checked.getAngle(), trusted.getOrientation(unchecked), 0);
+		assertEquals(checked.getRadius(), trusted.getRadius(unchecked), 0);
+		assertEquals(checked.getCurrentAP(), trusted.getActionPoints(unchecked));
+		assertSame(checked.getName(), trusted.getName(unchecked));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckedWorldRefusesInvalidWorm() {
+		new WorldFacade(new WormWorld()).createWorm(0, 0, 0, 1, "invalid");
+	}
+
+}
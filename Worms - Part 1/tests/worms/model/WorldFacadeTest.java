@@ -0,0 +1,113 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.util.Util;
+
+public class WorldFacadeTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private IFacade plain;
+
+	private WormWorld world;
+
+	private WorldFacade facade;
+
+	@Before
+	public void setup() {
+		plain = new Facade();
+		world = new WormWorld();
+		facade = new WorldFacade(world);
+	}
+
+	@Test
+	public void testSameResultsAsFacade() {
+		Worm expected = plain.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		Worm actual = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+
+		plain.move(expected, 2);
+		facade.move(actual, 2);
+		plain.turn(expected, 0.5);
+		facade.turn(actual, 0.5);
+		plain.setRadius(expected, 1.5);
+		facade.setRadius(actual, 1.5);
+
+		assertEquals(plain.getX(expected), facade.getX(actual), EPS);
+		assertEquals(plain.getY(expected), facade.getY(actual), EPS);
+		assertEquals(plain.getOrientation(expected), facade.getOrientation(actual), EPS);
+		assertEquals(plain.getRadius(expected), facade.getRadius(actual), EPS);
+		assertEquals(plain.getMass(expected), facade.getMass(actual), EPS);
+		assertEquals(plain.getActionPoints(expected), facade.getActionPoints(actual));
+		assertEquals(plain.getMaxActionPoints(expected), facade.getMaxActionPoints(actual));
+		assertEquals(plain.getJumpTime(expected), facade.getJumpTime(actual), EPS);
+	}
+
+	@Test
+	public void testComponentsAreStoredPerEntity() {
+		for (int i = 0; i < 40; i++)
+			facade.createWorm(i, -i, 0, 1, "Test");
+		assertEquals(40, world.size());
+		for (int i = 0; i < 40; i++) {
+			assertEquals(i, world.getPosX()[i], 0);
+			assertEquals(-i, world.getPosY()[i], 0);
+			assertEquals(i, world.getEntity(world.getWorm(i)));
+		}
+	}
+
+	@Test
+	public void testRenderFlags() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		int entity = world.getEntity(worm);
+		world.getRenderFlags()[entity] = 0;
+
+		facade.move(worm, 1);
+		assertEquals(0, world.getRenderFlags()[entity]);
+		facade.turn(worm, 1);
+		assertEquals(WormWorld.RENDER_DIRECTION, world.getRenderFlags()[entity]);
+		facade.setRadius(worm, 2);
+		assertEquals(WormWorld.RENDER_DIRECTION | WormWorld.RENDER_RADIUS,
+				world.getRenderFlags()[entity]);
+	}
+
+	@Test
+	public void testRejectedChangeKeepsComponents() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		assertFalse(facade.tryMove(worm, 10000).isValid());
+		assertEquals(0, facade.getX(worm), 0);
+	}
+
+	@Test
+	public void testSystemsRunInOrder() {
+		final StringBuilder log = new StringBuilder();
+		world.addSystem(new EntitySystem() {
+			@Override
+			public void update(WormWorld world, double timeDelta) {
+				log.append('a');
+			}
+		});
+		world.addSystem(new EntitySystem() {
+			@Override
+			public void update(WormWorld world, double timeDelta) {
+				log.append('b');
+			}
+		});
+		world.update(0.1);
+		assertEquals("ab", log.toString());
+	}
+
+	@Test
+	public void testFindWorldThroughOtherFacades() {
+		assertSame(world, WorldFacade.findWorld(new CachingFacade(new ConcurrentFacade(facade))));
+		assertNull(WorldFacade.findWorld(plain));
+	}
+
+	@Test(expected = ModelException.class)
+	public void testForeignWorm() {
+		facade.getX(plain.createWorm(0, 0, 0, 1, "Test"));
+	}
+
+}
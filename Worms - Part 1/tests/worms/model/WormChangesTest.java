@@ -0,0 +1,120 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WormChangesTest {
+
+	private final List<Worm> changedWorms = new ArrayList<Worm>();
+
+	private final List<Set<WormChange>> changes = new ArrayList<Set<WormChange>>();
+
+	private final WormChangeListener listener = new WormChangeListener() {
+		@Override
+		public void wormChanged(Worm worm, Set<WormChange> wormChanges) {
+			changedWorms.add(worm);
+			changes.add(wormChanges);
+		}
+	};
+
+	private IFacade facade;
+
+	private Worm worm;
+
+	@Before
+	public void setup() {
+		facade = new Facade();
+		worm = facade.createWorm(0, 0, 0, 1, "Test");
+		WormChanges.addListener(listener);
+	}
+
+	@After
+	public void teardown() {
+		WormChanges.removeListener(listener);
+	}
+
+	@Test
+	public void testVersionCountsChanges() {
+		int version = worm.getVersion();
+		facade.getX(worm);
+		assertEquals(version, worm.getVersion());
+		facade.move(worm, 1);
+		assertTrue(worm.getVersion() > version);
+	}
+
+	@Test
+	public void testChangesAreBatchedPerWorm() {
+		Worm other = facade.createWorm(5, 0, 0, 1, "Other");
+		WormChanges.flush();
+		changedWorms.clear();
+		changes.clear();
+
+		facade.move(worm, 1);
+		facade.turn(worm, 0.5);
+		facade.rename(other, "Renamed");
+		assertTrue(changedWorms.isEmpty());
+
+		WormChanges.flush();
+		assertEquals(2, changedWorms.size());
+		assertSame(worm, changedWorms.get(0));
+		assertEquals(EnumSet.of(WormChange.MOVED, WormChange.TURNED, WormChange.AP_CHANGED), changes.get(0));
+		assertSame(other, changedWorms.get(1));
+		assertEquals(EnumSet.of(WormChange.RENAMED), changes.get(1));
+
+		WormChanges.flush();
+		assertEquals(2, changedWorms.size());
+	}
+
+	@Test
+	public void testChangesOfAllThreadsAreFlushedOnce() throws InterruptedException {
+		final Worm other = facade.createWorm(5, 0, 0, 1, "Other");
+		WormChanges.flush();
+		changedWorms.clear();
+		changes.clear();
+
+		facade.move(worm, 1);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				facade.turn(worm, 0.5);
+				facade.rename(other, "Renamed");
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(2, WormChanges.getPendingCount());
+
+		WormChanges.flush();
+		assertEquals(2, changedWorms.size());
+		assertSame(worm, changedWorms.get(0));
+		assertEquals(EnumSet.of(WormChange.MOVED, WormChange.TURNED, WormChange.AP_CHANGED), changes.get(0));
+		assertSame(other, changedWorms.get(1));
+		assertEquals(EnumSet.of(WormChange.RENAMED), changes.get(1));
+		assertEquals(0, WormChanges.getPendingCount());
+	}
+
+	@Test
+	public void testNothingIsCollectedWithoutListeners() {
+		WormChanges.removeListener(listener);
+		facade.setRadius(worm, 2);
+		assertEquals(0, WormChanges.getPendingCount());
+	}
+
+	@Test
+	public void testCachingFacadeSeesChangesMadeElsewhere() {
+		CachingFacade caching = new CachingFacade(facade);
+		caching.startFrame();
+		double x = caching.getX(worm);
+		facade.move(worm, 1);
+		assertEquals(x + 1, caching.getX(worm), 0);
+	}
+
+}
@@ -0,0 +1,66 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Checks the per-instance layout of Worm. The shallow size is estimated for a
+ * 64-bit virtual machine with compressed references: a 12-byte object header,
+ * 4-byte references, and the object size rounded up to a multiple of 8.
+ */
+public class WormFootprintTest {
+
+	private static final int OBJECT_HEADER = 12;
+	private static final int REFERENCE_SIZE = 4;
+	private static final int ALIGNMENT = 8;
+
+	private static final int MAX_SHALLOW_SIZE = 64;
+
+	private static int fieldSize(Class<?> type) {
+		if (type == double.class || type == long.class)
+			return 8;
+		if (type == int.class || type == float.class)
+			return 4;
+		if (type == short.class || type == char.class)
+			return 2;
+		if (type == byte.class || type == boolean.class)
+			return 1;
+		return REFERENCE_SIZE;
+	}
+
+	private static long estimateShallowSize(Class<?> type) {
+		long size = OBJECT_HEADER;
+		for (Class<?> c = type; c != null; c = c.getSuperclass())
+			for (Field field : c.getDeclaredFields())
+				if (!Modifier.isStatic(field.getModifiers()))
+					size += fieldSize(field.getType());
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	@Test
+	public void testOnlyEntityStateIsStoredPerWorm() {
+		Set<String> fields = new HashSet<String>();
+		for (Field field : Worm.class.getDeclaredFields())
+			if (!Modifier.isStatic(field.getModifiers()))
+				fields.add(field.getName());
+		Set<String> expected = new HashSet<String>();
+		for (String name : new String[] { "posX", "posY", "angle", "radius",
+				"currentAP", "name", "version", "validation" })
+			expected.add(name);
+		assertEquals(expected, fields);
+	}
+
+	@Test
+	public void testShallowSize() {
+		long size = estimateShallowSize(Worm.class);
+		assertTrue("estimated " + size + " bytes per worm",
+				size <= MAX_SHALLOW_SIZE);
+	}
+
+}
@@ -0,0 +1,111 @@
+package worms.model;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Measures what the garbage collector does while N worms are allocated as Worm
+ * objects on the heap and as records in an OffHeapWormStore, and while
+ * short-lived garbage is allocated afterwards with those worms kept alive, as
+ * totals of the collection counts and times of all garbage collectors.
+ *
+ * Run with the number of worms as argument (default 1000000); give the JVM a
+ * heap large enough for them, for example -Xmx1g.
+ */
+public class WormStoreGcBenchmark {
+
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * Number of bytes of short-lived garbage allocated while the worms are kept
+	 */
+	private static final long GARBAGE = 2L << 30;
+	private static final int GARBAGE_CHUNK = 1 << 10;
+
+	private interface Population {
+		/**
+		 * Allocate the given number of worms, and return what keeps them alive
+		 */
+		Object allocate(int n);
+	}
+
+	private static long[] gcTotals() {
+		long count = 0;
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+			time += Math.max(0, gc.getCollectionTime());
+		}
+		return new long[] { count, time };
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+		Population onHeap = new Population() {
+			@Override
+			public Object allocate(int n) {
+				Random random = new Random(42);
+				Worm[] worms = new Worm[n];
+				for (int i = 0; i < n; i++) {
+					worms[i] = new Worm(random.nextDouble(), random.nextDouble(),
+							1, random.nextDouble(), "Benchmark");
+				}
+				return worms;
+			}
+		};
+		Population offHeap = new Population() {
+			@Override
+			public Object allocate(int n) {
+				Random random = new Random(42);
+				OffHeapWormStore store = new OffHeapWormStore(n);
+				for (int i = 0; i < n; i++) {
+					store.add(random.nextDouble(), random.nextDouble(),
+							random.nextDouble(), 1, 4448, "Benchmark");
+				}
+				return store;
+			}
+		};
+
+		System.out.printf("%d worms, %d MB of garbage afterwards%n", n,
+				GARBAGE >> 20);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+			measure("Worm objects", onHeap, n, report);
+			measure("OffHeapWormStore", offHeap, n, report);
+		}
+	}
+
+	private static void measure(String name, Population population, int n,
+			boolean report) {
+		System.gc();
+		long[] before = gcTotals();
+		long start = System.nanoTime();
+		Object worms = population.allocate(n);
+		long allocation = System.nanoTime() - start;
+		long[] allocated = gcTotals();
+
+		start = System.nanoTime();
+		// the chunks escape into a small ring, so that they are really allocated
+		byte[][] recent = new byte[64][];
+		long sum = 0;
+		for (long bytes = 0; bytes < GARBAGE; bytes += GARBAGE_CHUNK) {
+			byte[] chunk = new byte[GARBAGE_CHUNK];
+			recent[(int) (sum++ & 63)] = chunk;
+		}
+		long churn = System.nanoTime() - start;
+		long[] after = gcTotals();
+
+		if (report) {
+			// using the worms and the sum keeps them from being optimised away
+			System.out.printf("%-18s allocating: %4d GCs, %5d ms GC, %5d ms"
+					+ " | garbage: %4d GCs, %5d ms GC, %5d ms (%s, %d)%n",
+					name, allocated[0] - before[0], allocated[1] - before[1],
+					allocation / 1000000, after[0] - allocated[0], after[1]
+							- allocated[1], churn / 1000000, worms.getClass()
+							.getSimpleName(), sum);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package worms.util;
+
+import java.util.Random;
+
+/**
+ * Measures how long a sine and a cosine take with Math and with the table,
+ * for angles as the painters use them (within a few turns of 0) and for
+ * angles far away from 0, for which Math has to reduce the argument.
+ */
+public class TrigonometryBenchmark {
+
+	private static final int ANGLES = 1 << 16;
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int CALLS = 20000000;
+
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		double[] small = new double[ANGLES];
+		double[] large = new double[ANGLES];
+		for (int i = 0; i < ANGLES; i++) {
+			small[i] = (random.nextDouble() - 0.5) * 4 * Math.PI;
+			large[i] = (random.nextDouble() - 0.5) * 2e5;
+		}
+
+		System.out.printf("sin + cos, %d calls%n", CALLS);
+		for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+			boolean report = round == WARMUP_ROUNDS;
+			measure("Math, |angle| < 2pi", Trigonometry.EXACT, small, report);
+			measure("table, |angle| < 2pi", Trigonometry.TABLE, small, report);
+			measure("Math, |angle| < 1e5", Trigonometry.EXACT, large, report);
+			measure("table, |angle| < 1e5", Trigonometry.TABLE, large, report);
+		}
+	}
+
+	private static void measure(String name, Trigonometry trigonometry,
+			double[] angles, boolean report) {
+		double sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < CALLS; i++) {
+			double angle = angles[i & (ANGLES - 1)];
+			sum += trigonometry.sin(angle) + trigonometry.cos(angle);
+		}
+		long time = System.nanoTime() - start;
+		if (report) {
+			// printing the sum keeps the calls from being optimised away
+			System.out.printf("%-24s %6.2f ns per pair (sum %.3f)%n", name,
+					(double) time / CALLS, sum);
+		}
+	}
+}
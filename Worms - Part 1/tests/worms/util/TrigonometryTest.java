@@ -0,0 +1,46 @@
+package worms.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TrigonometryTest {
+
+	@Test
+	public void testTableIsWithinDocumentedError() {
+		Trigonometry trig = Trigonometry.TABLE;
+		double maxError = trig.getMaximumError();
+		assertTrue(maxError < 3e-7);
+
+		Random random = new Random(42);
+		for (int i = 0; i < 1000000; i++) {
+			double angle = (random.nextDouble() - 0.5) * 100;
+			assertEquals(Math.sin(angle), trig.sin(angle), maxError);
+			assertEquals(Math.cos(angle), trig.cos(angle), maxError);
+		}
+	}
+
+	@Test
+	public void testTableAtSpecialAngles() {
+		Trigonometry trig = Trigonometry.TABLE;
+		double maxError = trig.getMaximumError();
+		double[] angles = { 0, Math.PI / 6, Math.PI / 4, Math.PI / 2, Math.PI,
+				3 * Math.PI / 2, 2 * Math.PI, -Math.PI, -2 * Math.PI, 1e7 };
+		for (double angle : angles) {
+			assertEquals(Math.sin(angle), trig.sin(angle), maxError);
+			assertEquals(Math.cos(angle), trig.cos(angle), maxError);
+		}
+		assertTrue(Double.isNaN(trig.sin(Double.NaN)));
+		assertTrue(Double.isNaN(trig.cos(Double.POSITIVE_INFINITY)));
+	}
+
+	@Test
+	public void testExactIsMath() {
+		assertEquals(Math.sin(1.234), Trigonometry.EXACT.sin(1.234), 0);
+		assertEquals(Math.cos(1.234), Trigonometry.EXACT.cos(1.234), 0);
+		assertEquals(0, Trigonometry.EXACT.getMaximumError(), 0);
+	}
+
+}
@@ -0,0 +1,86 @@
+package worms.util;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+public class UtilTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private static final double[] VALUES = { 0.0, -0.0, 1.0, 1.0 + EPS / 2,
+			1.0 + 2 * EPS, -1.0, Math.PI, Double.MIN_VALUE, Double.MAX_VALUE,
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+
+	/**
+	 * The original implementation of fuzzyEquals, which boxes both values
+	 */
+	private static boolean boxedFuzzyEquals(double x, double y, double eps) {
+		if (Double.isNaN(x) || Double.isNaN(y))
+			return false;
+		return Math.abs(x - y) <= eps
+				|| Double.valueOf(x).equals(Double.valueOf(y));
+	}
+
+	@Test
+	public void testFuzzyEqualsMatchesBoxedComparison() {
+		for (double x : VALUES)
+			for (double y : VALUES)
+				assertEquals(x + " ~ " + y, boxedFuzzyEquals(x, y, EPS),
+						Util.fuzzyEquals(x, y, EPS));
+	}
+
+	@Test
+	public void testBatchComparisonsMatchScalarComparisons() {
+		int n = VALUES.length * VALUES.length;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			xs[i] = VALUES[i / VALUES.length];
+			ys[i] = VALUES[i % VALUES.length];
+		}
+		boolean[] equal = new boolean[n];
+		boolean[] lessOrEqual = new boolean[n];
+		Util.fuzzyEquals(xs, ys, EPS, equal);
+		Util.fuzzyLessThanOrEqualTo(xs, ys, EPS, lessOrEqual);
+		for (int i = 0; i < n; i++) {
+			assertEquals(Util.fuzzyEquals(xs[i], ys[i], EPS), equal[i]);
+			assertEquals(Util.fuzzyLessThanOrEqualTo(xs[i], ys[i], EPS),
+					lessOrEqual[i]);
+		}
+	}
+
+	@Test
+	public void testFuzzyBetween() {
+		assertTrue(Util.fuzzyBetween(0, -EPS / 2, Math.PI));
+		assertTrue(Util.fuzzyBetween(0, Math.PI + EPS / 2, Math.PI));
+		assertFalse(Util.fuzzyBetween(0, -1, Math.PI));
+		assertFalse(Util.fuzzyBetween(0, Double.NaN, Math.PI));
+	}
+
+	@Test
+	public void testFuzzyComparisonsDoNotAllocate() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return; // allocation counters are not available on this VM
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		long thread = Thread.currentThread().getId();
+		boolean result = false;
+		// warm up, so that the measurement does not include class loading
+		for (int i = 0; i < 1000; i++)
+			result ^= Util.fuzzyEquals(i, i + 1e-5);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < 100000; i++)
+			result ^= Util.fuzzyLessThanOrEqualTo(i, i + 1e-5);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		// boxing both values would take at least 32 bytes per comparison
+		assertTrue("allocated " + allocated + " bytes (" + result + ")",
+				allocated < 1024);
+	}
+
+}